@@ -0,0 +1,152 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ArgumentPlan.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.List;
+
+import com.dn.spring.beans.convert.ConversionService;
+
+/**
+ * Description: 构造参数(或工厂方法参数)的解析计划，每个参数编译为 {@link ValueResolver}.
+ * <p>
+ * 选定构造方法(或工厂方法)后，字面值参数按形参类型转换一次，得到绑定该方法的计划，之后的解析直接使用转换后的值。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ArgumentPlan {
+
+    private final List<?> argumentValues;
+
+    private final Object[] snapshot;
+
+    private final ValueResolver[] resolvers;
+
+    /**
+     * 未经转换的解析器，绑定其他方法时从它们重新转换
+     */
+    private final ValueResolver[] original;
+
+    /**
+     * 字面值已按其形参类型转换的方法，未转换时为null
+     */
+    private final Executable target;
+
+    private ArgumentPlan(List<?> argumentValues) {
+        this.argumentValues = argumentValues;
+        this.snapshot = argumentValues.toArray();
+        this.resolvers = new ValueResolver[this.snapshot.length];
+        for (int i = 0; i < this.snapshot.length; i++) {
+            this.resolvers[i] = ValueResolver.of(this.snapshot[i]);
+        }
+        this.original = this.resolvers;
+        this.target = null;
+    }
+
+    private ArgumentPlan(ArgumentPlan source, ValueResolver[] resolvers, Executable target) {
+        this.argumentValues = source.argumentValues;
+        this.snapshot = source.snapshot;
+        this.resolvers = resolvers;
+        this.original = source.original;
+        this.target = target;
+    }
+
+    public static ArgumentPlan build(List<?> argumentValues) {
+        return new ArgumentPlan(argumentValues);
+    }
+
+    /**
+     * 计划是否仍对应给定的参数定义
+     */
+    public boolean isValidFor(List<?> values) {
+        if (values != this.argumentValues || values.size() != this.snapshot.length) {
+            return false;
+        }
+        Iterator<?> it = values.iterator();
+        for (Object v : this.snapshot) {
+            if (it.next() != v) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 字面值已按其形参类型转换的方法
+     */
+    public Executable getTarget() {
+        return target;
+    }
+
+    /**
+     * 生成绑定到给定方法的计划：字面值参数按形参类型(含泛型参数)转换，引用参数不变
+     *
+     * @param target 选定的构造方法或工厂方法
+     * @param conversionService 类型转换
+     * @return 新的计划
+     * @throws IllegalArgumentException 字面值无法转换
+     */
+    ArgumentPlan convert(Executable target, ConversionService conversionService) {
+        Type[] types = target.getGenericParameterTypes();
+        if (types.length != this.resolvers.length) {
+            // 内部类构造方法的泛型形参不含外部实例
+            types = target.getParameterTypes();
+        }
+        ValueResolver[] converted = this.original.clone();
+        for (int i = 0; i < converted.length; i++) {
+            if (converted[i].isConstant()) {
+                converted[i] = new ValueResolver.ConstantResolver(
+                        conversionService.convert(((ValueResolver.ConstantResolver) converted[i]).resolve(null), types[i]));
+            }
+        }
+        return new ArgumentPlan(this, converted, target);
+    }
+
+    /**
+     * 把转换后的字面值写入已解析的实参，引用参数保持不变
+     */
+    void applyConstants(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (this.resolvers[i].isConstant()) {
+                args[i] = ((ValueResolver.ConstantResolver) this.resolvers[i]).resolve(null);
+            }
+        }
+    }
+
+    /**
+     * 把已解析实参中的字面值换回转换前的值，按原始实参选择方法，选择结果与第一次创建时一致
+     *
+     * @return 计划未绑定方法时为给入的实参，否则为替换后的副本
+     */
+    Object[] unconverted(Object[] args) {
+        if (this.target == null) {
+            return args;
+        }
+        Object[] values = args.clone();
+        for (int i = 0; i < values.length; i++) {
+            if (this.original[i].isConstant()) {
+                values[i] = ((ValueResolver.ConstantResolver) this.original[i]).resolve(null);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 解析出实际参数
+     */
+    Object[] resolve(DefaultBeanFactory bf) throws Exception {
+        Object[] values = new Object[this.resolvers.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.resolvers[i].resolve(bf);
+        }
+        return values;
+    }
+}
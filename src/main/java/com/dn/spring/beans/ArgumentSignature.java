@@ -0,0 +1,84 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ArgumentSignature.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.Arrays;
+
+/**
+ * Description: 实参类型签名，作为构造方法、工厂方法解析结果的缓存key.
+ * <p>
+ * null实参的类型记为null。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class ArgumentSignature {
+
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+
+    /**
+     * 在其上查找构造方法或工厂方法的类
+     */
+    private final Class<?> owner;
+
+    private final Class<?>[] types;
+
+    private final int hash;
+
+    private ArgumentSignature(Class<?> owner, Class<?>[] types) {
+        this.owner = owner;
+        this.types = types;
+        this.hash = 31 * owner.hashCode() + Arrays.hashCode(types);
+    }
+
+    public static ArgumentSignature of(Class<?> owner, Object[] args) {
+        if (args == null || args.length == 0) {
+            return new ArgumentSignature(owner, NO_TYPES);
+        }
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = args[i] == null ? null : args[i].getClass();
+        }
+        return new ArgumentSignature(owner, types);
+    }
+
+    /**
+     * 由实参类型构造签名，元素为null表示该位置实参为null
+     */
+    public static ArgumentSignature ofTypes(Class<?> owner, Class<?>[] types) {
+        return new ArgumentSignature(owner, types.length == 0 ? NO_TYPES : types.clone());
+    }
+
+    public Class<?> getOwner() {
+        return this.owner;
+    }
+
+    public Class<?>[] getTypes() {
+        return this.types.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof ArgumentSignature))
+            return false;
+        ArgumentSignature other = (ArgumentSignature) obj;
+        return this.hash == other.hash && this.owner == other.owner && Arrays.equals(this.types, other.types);
+    }
+
+    @Override
+    public String toString() {
+        return owner.getName() + Arrays.toString(types);
+    }
+}
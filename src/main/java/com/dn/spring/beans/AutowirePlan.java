@@ -0,0 +1,241 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：AutowirePlan.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Description: 自动装配计划.
+ * <p>
+ * 把自动装配的构造参数和字段解析为显式的bean引用：选定的构造方法、构造参数列表和属性依赖(显式的在前，自动装配的在后)，
+ * 之后的实例化和注入沿用参数计划、注入计划，每次创建原型不再查找候选bean。
+ * 实例化直接使用选定的构造方法(可以不是public的)，不再按实参重新匹配。
+ * 计划记录构建时的注册次数，之后又注册了bean定义则失效，由bean工厂重新构建。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class AutowirePlan {
+
+    private final long registrationCount;
+
+    private final List<?> sourceArguments;
+
+    private final List<PropertyValue> sourcePropertyValues;
+
+    private final Constructor<?> constructor;
+
+    private final List<?> constructorArgumentValues;
+
+    private final List<PropertyValue> propertyValues;
+
+    private AutowirePlan(long registrationCount, BeanDefinition bd, Constructor<?> constructor,
+            List<?> constructorArgumentValues, List<PropertyValue> propertyValues) {
+        this.registrationCount = registrationCount;
+        this.sourceArguments = bd.getConstructorArgumentValues();
+        this.sourcePropertyValues = bd.getPropertyValues();
+        this.constructor = constructor;
+        this.constructorArgumentValues = constructorArgumentValues;
+        this.propertyValues = propertyValues;
+    }
+
+    /**
+     * 为自动装配的bean定义构建计划
+     *
+     * @param bd bean定义
+     * @param bf 查找候选bean的bean工厂
+     * @param registrationCount 当前的注册次数
+     * @return 自动装配计划
+     * @throws BeanCreationException 候选bean不唯一，或没有能装配的构造方法
+     */
+    static AutowirePlan build(BeanDefinition bd, DefaultBeanFactory bf, long registrationCount) {
+        boolean byName = BeanDefinition.AUTOWIRE_BY_NAME.equals(bd.getAutowireMode());
+
+        List<?> args = bd.getConstructorArgumentValues();
+        Constructor<?> constructor = null;
+        if (CollectionUtils.isEmpty(args) && bd.getBeanClass() != null
+                && StringUtils.isBlank(bd.getFactoryMethodName())) {
+            List<Object> refs = new ArrayList<>();
+            constructor = autowireConstructor(bd, bf, byName, refs);
+            if (constructor != null) {
+                args = refs;
+            }
+        }
+
+        List<PropertyValue> pvs = bd.getPropertyValues();
+        Class<?> type = bf.predictBeanType(bd);
+        if (type != null) {
+            List<PropertyValue> autowired = autowireFields(bd, bf, type, byName);
+            if (!autowired.isEmpty()) {
+                List<PropertyValue> all = new ArrayList<>(autowired.size() + (pvs == null ? 0 : pvs.size()));
+                if (pvs != null) {
+                    all.addAll(pvs);
+                }
+                all.addAll(autowired);
+                pvs = all;
+            }
+        }
+        return new AutowirePlan(registrationCount, bd, constructor, args, pvs);
+    }
+
+    /**
+     * 计划是否仍对应给定bean定义和注册次数
+     */
+    public boolean isValidFor(BeanDefinition bd, long registrationCount) {
+        return registrationCount == this.registrationCount && bd.getConstructorArgumentValues() == this.sourceArguments
+                && bd.getPropertyValues() == this.sourcePropertyValues;
+    }
+
+    /**
+     * 自动装配选定的构造方法，使用无参构造方法或显式给出构造参数时为null
+     */
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * 构造参数，显式给出的或自动装配的bean引用
+     */
+    public List<?> getConstructorArgumentValues() {
+        return constructorArgumentValues;
+    }
+
+    /**
+     * 显式的属性依赖加上自动装配的字段
+     */
+    public List<PropertyValue> getPropertyValues() {
+        return propertyValues;
+    }
+
+    /**
+     * 参数最多且都能装配的构造方法；都不能装配时使用无参构造方法。
+     * 按名字装配构造参数需要类以 -parameters 编译，取不到参数名的构造参数按类型装配
+     *
+     * @param refs 填入选定构造方法的参数对应的bean引用
+     * @return 选定的构造方法，使用无参构造方法时为null
+     */
+    private static Constructor<?> autowireConstructor(BeanDefinition bd, DefaultBeanFactory bf, boolean byName,
+            List<Object> refs) {
+        Class<?> beanClass = bd.getBeanClass();
+        Constructor<?>[] constructors = beanClass.getConstructors();
+        if (constructors.length == 0) {
+            constructors = beanClass.getDeclaredConstructors();
+        }
+        constructors = constructors.clone();
+        Arrays.sort(constructors, Comparator.comparingInt((Constructor<?> c) -> c.getParameterCount()).reversed());
+
+        for (Constructor<?> ct : constructors) {
+            if (ct.getParameterCount() == 0) {
+                return null;
+            }
+            refs.clear();
+            for (Parameter p : ct.getParameters()) {
+                String name = p.isNamePresent() ? p.getName() : null;
+                String candidate = findCandidate(bd, bf, p.getType(), name, byName && name != null);
+                if (candidate == null) {
+                    break;
+                }
+                refs.add(new BeanReference(candidate));
+            }
+            if (refs.size() == ct.getParameterCount()) {
+                return ct;
+            }
+        }
+        throw new BeanCreationException("没有能自动装配的构造方法：" + bd);
+    }
+
+    /**
+     * 类及父类中未显式给值的非静态、非final字段，有候选bean时装配，没有时跳过
+     */
+    private static List<PropertyValue> autowireFields(BeanDefinition bd, DefaultBeanFactory bf, Class<?> type,
+            boolean byName) {
+        Set<String> explicit = new HashSet<>();
+        if (bd.getPropertyValues() != null) {
+            for (PropertyValue pv : bd.getPropertyValues()) {
+                explicit.add(pv.getName());
+            }
+        }
+        List<PropertyValue> autowired = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                int mod = f.getModifiers();
+                if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || f.isSynthetic()
+                        || !explicit.add(f.getName())) {
+                    continue;
+                }
+                String candidate = findCandidate(bd, bf, f.getType(), f.getName(), byName);
+                if (candidate != null) {
+                    autowired.add(new PropertyValue(f.getName(), new BeanReference(candidate)));
+                }
+            }
+        }
+        return autowired;
+    }
+
+    /**
+     * 查找候选bean，排除bean自身。按名字时只看同名bean；按类型时有多个候选则取与名字相同的一个，否则报错
+     *
+     * @return 候选bean名，没有时为null
+     */
+    private static String findCandidate(BeanDefinition bd, DefaultBeanFactory bf, Class<?> type, String name,
+            boolean byName) {
+        if (isSimpleType(type)) {
+            return null;
+        }
+        if (byName) {
+            BeanDefinition candidate = bf.getBeanDefinition(name);
+            if (candidate == null || candidate == bd) {
+                return null;
+            }
+            Class<?> candidateType = bf.predictBeanType(candidate);
+            return candidateType == null || ClassUtils.isAssignable(candidateType, type) ? name : null;
+        }
+
+        List<String> candidates = new ArrayList<>(2);
+        for (String candidate : bf.getBeanNamesForType(type)) {
+            if (bf.getBeanDefinition(candidate) != bd) {
+                candidates.add(candidate);
+            }
+        }
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+        if (name != null && candidates.contains(name)) {
+            return name;
+        }
+        throw new BeanCreationException("类型为" + type.getName() + "的候选bean不唯一" + candidates
+                + (name == null ? "(取不到参数名，类需以-parameters编译才能按名字区分)" : "，装配[" + name + "]")
+                + "：" + bd);
+    }
+
+    /**
+     * 字面值、集合和数组类型不从容器装配
+     */
+    private static boolean isSimpleType(Class<?> type) {
+        return ClassUtils.isPrimitiveOrWrapper(type) || type == Object.class || type.isArray() || type.isEnum()
+                || CharSequence.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type)
+                || Date.class.isAssignableFrom(type) || Class.class == type
+                || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+}
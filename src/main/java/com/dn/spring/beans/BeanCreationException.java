@@ -0,0 +1,20 @@
+package com.dn.spring.beans;
+
+/**
+ * 创建bean失败，用于不能抛出受检异常的地方
+ */
+public class BeanCreationException extends RuntimeException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -4171593026583404913L;
+
+	public BeanCreationException(String mess) {
+		super(mess);
+	}
+
+	public BeanCreationException(String mess, Throwable e) {
+		super(mess, e);
+	}
+}
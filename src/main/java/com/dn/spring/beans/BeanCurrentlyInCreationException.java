@@ -0,0 +1,16 @@
+package com.dn.spring.beans;
+
+/**
+ * 循环依赖：bean在创建过程中被再次请求
+ */
+public class BeanCurrentlyInCreationException extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -2514583217562451734L;
+
+	public BeanCurrentlyInCreationException(String mess) {
+		super(mess);
+	}
+}
@@ -3,6 +3,7 @@ package com.dn.spring.beans;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.util.List;
 
@@ -12,6 +13,18 @@ public interface BeanDefinition {
 
     String SCOPE_PROTOTYPE = "prototype";
 
+    String SCOPE_POOLED = "pooled";
+
+    String SCOPE_THREAD = "thread";
+
+    String SCOPE_CONTEXT = "context";
+
+    String AUTOWIRE_NO = "no";
+
+    String AUTOWIRE_BY_NAME = "byName";
+
+    String AUTOWIRE_BY_TYPE = "byType";
+
     /**
      * 类
      */
@@ -32,6 +45,21 @@ public interface BeanDefinition {
      */
     boolean isPrototype();
 
+    /**
+     * 是否池化：实例用完归还到池中复用
+     */
+    boolean isPooled();
+
+    /**
+     * 是否延迟初始化：预实例化时跳过，属性引用它时注入代理，第一次调用代理的方法时才创建
+     */
+    boolean isLazyInit();
+
+    /**
+     * 自动装配方式：不装配、按名字或按类型。没有显式构造参数时装配构造参数，并装配未显式给值的字段
+     */
+    String getAutowireMode();
+
     /**
      * 工厂bean名
      */
@@ -47,24 +75,81 @@ public interface BeanDefinition {
      */
     String getInitMethodName();
 
+    /**
+     * 是否在线程池中异步执行初始化方法(仅单例)。bean构造注入完成后立即可用，
+     * 声明需要就绪的引用方等待初始化完成
+     */
+    boolean isAsyncInit();
+
+    /**
+     * 异步初始化的超时时间(毫秒)，从提交初始化开始计算，0表示不超时
+     */
+    long getInitTimeoutMillis();
+
     /**
      * 销毁方法
      */
     String getDestroyMethodName();
 
+    /**
+     * 池化bean归还时执行的重置方法
+     */
+    String getResetMethodName();
+
+    /**
+     * 池中至少保持的空闲实例数
+     */
+    int getPoolMinSize();
+
+    /**
+     * 共享池中最多保留的空闲实例数，超出的归还实例被销毁
+     */
+    int getPoolMaxSize();
+
+    /**
+     * 空闲实例超过该时长(毫秒)被淘汰，不低于最小数，0表示不淘汰
+     */
+    long getPoolMaxIdleMillis();
+
+    /**
+     * 是否定义了bean类。延迟加载类的定义只看类名，不为此加载类
+     */
+    default boolean hasBeanClass() {
+        return this.getBeanClass() != null;
+    }
+
+    /**
+     * bean类是否已加载。延迟加载类的定义在第一次需要bean类之前返回false，注册时不为它推断类型
+     */
+    default boolean isBeanClassResolved() {
+        return true;
+    }
+
     /**
      * 校验bean定义的合法性
      */
     default boolean validate() {
         // 没定义class,工厂bean或工厂方法没指定，则不合法。
-        if (this.getBeanClass() == null) {
+        if (!this.hasBeanClass()) {
             if (StringUtils.isBlank(getFactoryBeanName()) || StringUtils.isBlank(getFactoryMethodName())) {
                 return false;
             }
         }
 
         // 定义了类，又定义工厂bean，不合法
-        if (this.getBeanClass() != null && StringUtils.isNotBlank(getFactoryBeanName())) {
+        if (this.hasBeanClass() && StringUtils.isNotBlank(getFactoryBeanName())) {
+            return false;
+        }
+
+        // 池化bean的池大小不合法
+        if (this.isPooled() && (getPoolMinSize() < 0 || getPoolMaxSize() <= 0 || getPoolMinSize() > getPoolMaxSize()
+                || getPoolMaxIdleMillis() < 0)) {
+            return false;
+        }
+
+        // 自动装配方式不合法
+        if (getAutowireMode() != null && !AUTOWIRE_NO.equals(getAutowireMode())
+                && !AUTOWIRE_BY_NAME.equals(getAutowireMode()) && !AUTOWIRE_BY_TYPE.equals(getAutowireMode())) {
             return false;
         }
 
@@ -95,4 +180,44 @@ public interface BeanDefinition {
 
     public void setFactoryMethod(Method factoryMethod);
 
+    /**
+     * 按实参类型签名缓存的构造方法或工厂方法<br>
+     * add in V3
+     */
+    public Executable getResolvedExecutable(ArgumentSignature signature);
+
+    public void cacheResolvedExecutable(ArgumentSignature signature, Executable executable);
+
+    /**
+     * 缓存的实例化器<br>
+     * add in V3
+     */
+    public BeanInstantiator getInstantiator();
+
+    public void setInstantiator(BeanInstantiator instantiator);
+
+    /**
+     * 缓存的属性注入计划<br>
+     * add in V3
+     */
+    public InjectionPlan getInjectionPlan();
+
+    public void setInjectionPlan(InjectionPlan injectionPlan);
+
+    /**
+     * 缓存的构造参数解析计划<br>
+     * add in V3
+     */
+    public ArgumentPlan getArgumentPlan();
+
+    public void setArgumentPlan(ArgumentPlan argumentPlan);
+
+    /**
+     * 缓存的自动装配计划<br>
+     * add in V3
+     */
+    public AutowirePlan getAutowirePlan();
+
+    public void setAutowirePlan(AutowirePlan autowirePlan);
+
 }
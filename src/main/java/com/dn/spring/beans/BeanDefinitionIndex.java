@@ -0,0 +1,479 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanDefinitionIndex.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Description: 构建时生成的bean定义索引.
+ * <p>
+ * 以二进制格式保存bean定义(类名、作用域、构造参数、属性依赖等)、已解析的构造方法/工厂方法签名和依赖边，
+ * 启动时一次读入并通过 {@link DefaultBeanFactory#loadBeanDefinitionIndex(BeanDefinitionIndex)} 批量登记，
+ * 不再逐个校验和输出日志。由 {@link BeanDefinitionIndexWriter} 在构建时生成。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class BeanDefinitionIndex {
+
+    /**
+     * 索引在classpath中的默认位置
+     */
+    public static final String DEFAULT_LOCATION = "META-INF/bean-definitions.idx";
+
+    private static final int MAGIC = 0x444E4249;
+
+    private static final short VERSION = 2;
+
+    /**
+     * 读取时按长度预分配的最大容量
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private static final byte KIND_CONSTRUCTOR = 0;
+
+    private static final byte KIND_METHOD = 1;
+
+    private static final byte FLAG_LAZY_INIT = 1;
+
+    private static final byte FLAG_ASYNC_INIT = 2;
+
+    /* 值的类型标记 */
+    private static final byte T_NULL = 0;
+    private static final byte T_STRING = 1;
+    private static final byte T_INT = 2;
+    private static final byte T_LONG = 3;
+    private static final byte T_BOOLEAN = 4;
+    private static final byte T_DOUBLE = 5;
+    private static final byte T_FLOAT = 6;
+    private static final byte T_SHORT = 7;
+    private static final byte T_BYTE = 8;
+    private static final byte T_CHAR = 9;
+    private static final byte T_REFERENCE = 10;
+    private static final byte T_ARRAY = 11;
+    private static final byte T_LIST = 12;
+    private static final byte T_SET = 13;
+    private static final byte T_MAP = 14;
+    private static final byte T_PROPERTIES = 15;
+
+    private final Map<String, BeanDefinition> beanDefinitions;
+
+    private final BeanDependencyGraph dependencyGraph;
+
+    private BeanDefinitionIndex(Map<String, BeanDefinition> beanDefinitions, BeanDependencyGraph dependencyGraph) {
+        this.beanDefinitions = beanDefinitions;
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    /**
+     * 按注册顺序排列的bean定义
+     */
+    public Map<String, BeanDefinition> getBeanDefinitions() {
+        return Collections.unmodifiableMap(this.beanDefinitions);
+    }
+
+    /**
+     * 构建时计算好的依赖图
+     */
+    public BeanDependencyGraph getDependencyGraph() {
+        return this.dependencyGraph;
+    }
+
+    /**
+     * 从classpath默认位置读取索引
+     *
+     * @return 索引，不存在时为null
+     */
+    public static BeanDefinitionIndex load(ClassLoader classLoader) throws IOException, ClassNotFoundException,
+            NoSuchMethodException {
+        InputStream in = classLoader.getResourceAsStream(DEFAULT_LOCATION);
+        if (in == null) {
+            return null;
+        }
+        try (InputStream is = in) {
+            return read(is, classLoader);
+        }
+    }
+
+    /**
+     * 写出索引
+     *
+     * @param beanDefinitions 按注册顺序排列的bean定义
+     * @param out 输出流，不关闭
+     * @throws IOException
+     */
+    public static void write(Map<String, ? extends BeanDefinition> beanDefinitions, OutputStream out)
+            throws IOException {
+        DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(MAGIC);
+        dos.writeShort(VERSION);
+        dos.writeInt(beanDefinitions.size());
+        Set<String> refs = new LinkedHashSet<>();
+        for (Map.Entry<String, ? extends BeanDefinition> e : beanDefinitions.entrySet()) {
+            BeanDefinition bd = e.getValue();
+            dos.writeUTF(e.getKey());
+            writeClassName(dos, bd.getBeanClass());
+            writeNullableUTF(dos, bd.getScope());
+            writeNullableUTF(dos, bd.getFactoryBeanName());
+            writeNullableUTF(dos, bd.getFactoryMethodName());
+            writeNullableUTF(dos, bd.getInitMethodName());
+            writeNullableUTF(dos, bd.getDestroyMethodName());
+            writeNullableUTF(dos, bd.getResetMethodName());
+            writeNullableUTF(dos, bd.getAutowireMode());
+            dos.writeByte((bd.isLazyInit() ? FLAG_LAZY_INIT : 0) | (bd.isAsyncInit() ? FLAG_ASYNC_INIT : 0));
+            dos.writeLong(bd.getInitTimeoutMillis());
+            dos.writeInt(bd.getPoolMinSize());
+            dos.writeInt(bd.getPoolMaxSize());
+            dos.writeLong(bd.getPoolMaxIdleMillis());
+
+            List<?> args = bd.getConstructorArgumentValues();
+            dos.writeInt(args == null ? -1 : args.size());
+            if (args != null) {
+                for (Object arg : args) {
+                    writeValue(dos, arg);
+                }
+            }
+            List<PropertyValue> pvs = bd.getPropertyValues();
+            dos.writeInt(pvs == null ? -1 : pvs.size());
+            if (pvs != null) {
+                for (PropertyValue pv : pvs) {
+                    writeNullableUTF(dos, pv.getName());
+                    writeValue(dos, pv.getValue());
+                }
+            }
+
+            writeResolvedExecutables(dos, bd);
+
+            refs.clear();
+            BeanDependencyGraph.collectReferences(bd, refs);
+            dos.writeInt(refs.size());
+            for (String ref : refs) {
+                dos.writeUTF(ref);
+            }
+        }
+        dos.flush();
+    }
+
+    /**
+     * 读取索引
+     *
+     * @param in 输入流，不关闭
+     * @param classLoader 加载bean类的类加载器
+     * @return 索引
+     */
+    public static BeanDefinitionIndex read(InputStream in, ClassLoader classLoader) throws IOException,
+            ClassNotFoundException, NoSuchMethodException {
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(in));
+        if (dis.readInt() != MAGIC) {
+            throw new IOException("不是bean定义索引文件");
+        }
+        short version = dis.readShort();
+        if (version != VERSION) {
+            throw new IOException("不支持的bean定义索引版本：" + version);
+        }
+        int count = readLength(dis);
+        Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>(capacity(count) * 2);
+        Map<String, List<String>> edges = new LinkedHashMap<>(capacity(count) * 2);
+        for (int i = 0; i < count; i++) {
+            String name = dis.readUTF();
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(readClass(dis, classLoader));
+            bd.setScope(readNullableUTF(dis));
+            bd.setFactoryBeanName(readNullableUTF(dis));
+            bd.setFactoryMethodName(readNullableUTF(dis));
+            bd.setInitMethodName(readNullableUTF(dis));
+            bd.setDestroyMethodName(readNullableUTF(dis));
+            bd.setResetMethodName(readNullableUTF(dis));
+            bd.setAutowireMode(readNullableUTF(dis));
+            byte flags = dis.readByte();
+            bd.setLazyInit((flags & FLAG_LAZY_INIT) != 0);
+            bd.setAsyncInit((flags & FLAG_ASYNC_INIT) != 0);
+            bd.setInitTimeoutMillis(dis.readLong());
+            bd.setPoolMinSize(dis.readInt());
+            bd.setPoolMaxSize(dis.readInt());
+            bd.setPoolMaxIdleMillis(dis.readLong());
+
+            int argCount = dis.readInt();
+            if (argCount >= 0) {
+                List<Object> args = new ArrayList<>(capacity(argCount));
+                for (int j = 0; j < argCount; j++) {
+                    args.add(readValue(dis, classLoader));
+                }
+                bd.setConstructorArgumentValues(args);
+            }
+            int pvCount = dis.readInt();
+            if (pvCount >= 0) {
+                List<PropertyValue> pvs = new ArrayList<>(capacity(pvCount));
+                for (int j = 0; j < pvCount; j++) {
+                    pvs.add(new PropertyValue(readNullableUTF(dis), readValue(dis, classLoader)));
+                }
+                bd.setPropertyValues(pvs);
+            }
+
+            readResolvedExecutables(dis, bd, classLoader);
+
+            int refCount = readLength(dis);
+            List<String> refs = new ArrayList<>(capacity(refCount));
+            for (int j = 0; j < refCount; j++) {
+                refs.add(dis.readUTF());
+            }
+            beanDefinitions.put(name, bd);
+            edges.put(name, refs);
+        }
+        return new BeanDefinitionIndex(beanDefinitions, BeanDependencyGraph.of(edges));
+    }
+
+    private static void writeResolvedExecutables(DataOutputStream dos, BeanDefinition bd) throws IOException {
+        if (!(bd instanceof GenericBeanDefinition)) {
+            dos.writeInt(0);
+            return;
+        }
+        Map<ArgumentSignature, Executable> resolved = ((GenericBeanDefinition) bd).getResolvedExecutables();
+        dos.writeInt(resolved.size());
+        for (Map.Entry<ArgumentSignature, Executable> e : resolved.entrySet()) {
+            ArgumentSignature signature = e.getKey();
+            Executable executable = e.getValue();
+            writeClassName(dos, signature.getOwner());
+            Class<?>[] types = signature.getTypes();
+            dos.writeInt(types.length);
+            for (Class<?> type : types) {
+                writeClassName(dos, type);
+            }
+            dos.writeByte(executable instanceof Constructor ? KIND_CONSTRUCTOR : KIND_METHOD);
+            writeClassName(dos, executable.getDeclaringClass());
+            dos.writeUTF(executable.getName());
+            Class<?>[] params = executable.getParameterTypes();
+            dos.writeInt(params.length);
+            for (Class<?> param : params) {
+                writeClassName(dos, param);
+            }
+        }
+    }
+
+    private static void readResolvedExecutables(DataInputStream dis, GenericBeanDefinition bd,
+            ClassLoader classLoader) throws IOException, ClassNotFoundException, NoSuchMethodException {
+        int count = readLength(dis);
+        for (int i = 0; i < count; i++) {
+            Class<?> owner = readClass(dis, classLoader);
+            Class<?>[] types = new Class<?>[readParameterCount(dis)];
+            for (int j = 0; j < types.length; j++) {
+                types[j] = readClass(dis, classLoader);
+            }
+            byte kind = dis.readByte();
+            Class<?> declaring = readClass(dis, classLoader);
+            String name = dis.readUTF();
+            Class<?>[] params = new Class<?>[readParameterCount(dis)];
+            for (int j = 0; j < params.length; j++) {
+                params[j] = readClass(dis, classLoader);
+            }
+            ArgumentSignature signature = ArgumentSignature.ofTypes(owner, types);
+            if (kind == KIND_CONSTRUCTOR) {
+                Constructor<?> ct = declaring.getConstructor(params);
+                bd.cacheResolvedExecutable(signature, ct);
+                bd.setConstructor(ct);
+            } else {
+                Method m = declaring.getMethod(name, params);
+                bd.cacheResolvedExecutable(signature, m);
+                bd.setFactoryMethod(m);
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream dos, Object value) throws IOException {
+        if (value == null) {
+            dos.writeByte(T_NULL);
+        } else if (value instanceof String) {
+            dos.writeByte(T_STRING);
+            dos.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            dos.writeByte(T_INT);
+            dos.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            dos.writeByte(T_LONG);
+            dos.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            dos.writeByte(T_BOOLEAN);
+            dos.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            dos.writeByte(T_DOUBLE);
+            dos.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            dos.writeByte(T_FLOAT);
+            dos.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            dos.writeByte(T_SHORT);
+            dos.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            dos.writeByte(T_BYTE);
+            dos.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            dos.writeByte(T_CHAR);
+            dos.writeChar((Character) value);
+        } else if (value instanceof BeanReference) {
+            BeanReference ref = (BeanReference) value;
+            dos.writeByte(T_REFERENCE);
+            dos.writeUTF(ref.getBeanName());
+            dos.writeBoolean(ref.isReady());
+        } else if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            dos.writeByte(T_ARRAY);
+            writeClassName(dos, array.getClass().getComponentType());
+            dos.writeInt(array.length);
+            for (Object o : array) {
+                writeValue(dos, o);
+            }
+        } else if (value instanceof List || value instanceof Set) {
+            Collection<?> c = (Collection<?>) value;
+            dos.writeByte(value instanceof List ? T_LIST : T_SET);
+            dos.writeInt(c.size());
+            for (Object o : c) {
+                writeValue(dos, o);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            dos.writeByte(value instanceof Properties ? T_PROPERTIES : T_MAP);
+            dos.writeInt(map.size());
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                writeValue(dos, e.getKey());
+                writeValue(dos, e.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("bean定义索引不支持的值类型：" + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream dis, ClassLoader classLoader) throws IOException,
+            ClassNotFoundException {
+        byte tag = dis.readByte();
+        switch (tag) {
+        case T_NULL:
+            return null;
+        case T_STRING:
+            return dis.readUTF();
+        case T_INT:
+            return dis.readInt();
+        case T_LONG:
+            return dis.readLong();
+        case T_BOOLEAN:
+            return dis.readBoolean();
+        case T_DOUBLE:
+            return dis.readDouble();
+        case T_FLOAT:
+            return dis.readFloat();
+        case T_SHORT:
+            return dis.readShort();
+        case T_BYTE:
+            return dis.readByte();
+        case T_CHAR:
+            return dis.readChar();
+        case T_REFERENCE:
+            return new BeanReference(dis.readUTF(), dis.readBoolean());
+        case T_ARRAY: {
+            Class<?> componentType = readClass(dis, classLoader);
+            int length = readLength(dis);
+            List<Object> elements = new ArrayList<>(capacity(length));
+            for (int i = 0; i < length; i++) {
+                elements.add(readValue(dis, classLoader));
+            }
+            return elements.toArray((Object[]) Array.newInstance(componentType, length));
+        }
+        case T_LIST:
+        case T_SET: {
+            int size = readLength(dis);
+            Collection<Object> c = tag == T_LIST ? new ArrayList<>(capacity(size))
+                    : new LinkedHashSet<>(capacity(size) * 2);
+            for (int i = 0; i < size; i++) {
+                c.add(readValue(dis, classLoader));
+            }
+            return c;
+        }
+        case T_MAP:
+        case T_PROPERTIES: {
+            int size = readLength(dis);
+            Map<Object, Object> map = tag == T_MAP ? new LinkedHashMap<>(capacity(size) * 2) : new Properties();
+            for (int i = 0; i < size; i++) {
+                map.put(readValue(dis, classLoader), readValue(dis, classLoader));
+            }
+            return map;
+        }
+        default:
+            throw new IOException("bean定义索引中未知的值类型标记：" + tag);
+        }
+    }
+
+    /**
+     * 读取元素个数，负数说明文件损坏
+     */
+    private static int readLength(DataInputStream dis) throws IOException {
+        int length = dis.readInt();
+        if (length < 0) {
+            throw new IOException("bean定义索引已损坏，长度为负：" + length);
+        }
+        return length;
+    }
+
+    /**
+     * 方法参数最多255个
+     */
+    private static int readParameterCount(DataInputStream dis) throws IOException {
+        int count = readLength(dis);
+        if (count > 255) {
+            throw new IOException("bean定义索引已损坏，参数个数：" + count);
+        }
+        return count;
+    }
+
+    /**
+     * 按读到的长度预分配的容量有上限，损坏的长度读到文件末尾时报错，而不是先分配大量内存
+     */
+    private static int capacity(int length) {
+        return Math.min(Math.max(length, 0), MAX_INITIAL_CAPACITY);
+    }
+
+    private static void writeClassName(DataOutputStream dos, Class<?> type) throws IOException {
+        writeNullableUTF(dos, type == null ? null : type.getName());
+    }
+
+    private static Class<?> readClass(DataInputStream dis, ClassLoader classLoader) throws IOException,
+            ClassNotFoundException {
+        String name = readNullableUTF(dis);
+        return name == null ? null : ClassUtils.getClass(classLoader, name, false);
+    }
+
+    private static void writeNullableUTF(DataOutputStream dos, String s) throws IOException {
+        dos.writeBoolean(s != null);
+        if (s != null) {
+            dos.writeUTF(s);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream dis) throws IOException {
+        return dis.readBoolean() ? dis.readUTF() : null;
+    }
+}
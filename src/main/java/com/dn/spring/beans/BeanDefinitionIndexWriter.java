@@ -0,0 +1,85 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanDefinitionIndexWriter.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Description: 构建时生成bean定义索引，由maven的 definition-index profile 调用.
+ * <pre>
+ * BeanDefinitionIndexWriter &lt;registrar类名&gt; &lt;输出文件&gt; [resolve]
+ * </pre>
+ * 默认只写出bean定义。指定resolve时先预实例化单例，把解析出的构造方法/工厂方法一并写入索引，
+ * 要求单例在构建时可以安全创建(会执行初始化方法)，写出后关闭工厂执行销毁方法。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class BeanDefinitionIndexWriter {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("用法：BeanDefinitionIndexWriter <registrar类名> <输出文件> [resolve]");
+            System.exit(1);
+        }
+        BeanDefinitionRegistrar registrar = (BeanDefinitionRegistrar) Class.forName(args[0]).getDeclaredConstructor()
+                .newInstance();
+        boolean resolve = args.length > 2 && "resolve".equals(args[2]);
+
+        File file = new File(args[1]);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            int count = writeIndex(registrar, resolve, out);
+            System.out.println("写出 " + count + " 个bean定义到 " + file);
+        }
+    }
+
+    /**
+     * 执行注册代码并写出索引
+     *
+     * @return bean定义个数
+     */
+    public static int writeIndex(BeanDefinitionRegistrar registrar, boolean resolve, OutputStream out)
+            throws Exception {
+        RecordingBeanFactory bf = new RecordingBeanFactory();
+        try {
+            registrar.registerBeanDefinitions(bf);
+            if (resolve) {
+                bf.preInstantiateSingletons();
+            }
+            BeanDefinitionIndex.write(bf.registered, out);
+            return bf.registered.size();
+        } finally {
+            bf.close();
+        }
+    }
+
+    /**
+     * 按注册顺序记录bean定义
+     */
+    private static final class RecordingBeanFactory extends PreBuildBeanFactory {
+
+        private final Map<String, BeanDefinition> registered = new LinkedHashMap<>();
+
+        @Override
+        protected void onBeanDefinitionsRegistered(Collection<String> beanNames) {
+            super.onBeanDefinitionsRegistered(beanNames);
+            // 批量注册的定义同样记录
+            for (String beanName : beanNames) {
+                this.registered.put(beanName, this.getBeanDefinition(beanName));
+            }
+        }
+    }
+}
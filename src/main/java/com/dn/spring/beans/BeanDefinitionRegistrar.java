@@ -0,0 +1,26 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanDefinitionRegistrar.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: 注册bean定义的代码，供构建时生成bean定义索引使用，需要有无参构造方法.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface BeanDefinitionRegistrar {
+
+    /**
+     * 向注册中心注册bean定义
+     *
+     * @param registry bean定义注册中心
+     * @throws Exception
+     */
+    void registerBeanDefinitions(BeanDefinitionRegistry registry) throws Exception;
+}
@@ -1,5 +1,7 @@
 package com.dn.spring.beans;
 
+import java.util.Map;
+
 public interface BeanDefinitionRegistry {
 
 	void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeanDefinitionRegistException;
@@ -8,4 +10,21 @@ public interface BeanDefinitionRegistry {
 
 	boolean containsBeanDefinition(String beanName);
 
+	/**
+	 * 批量注册bean定义。默认逐个注册，出错时之前注册的保留；实现可以校验后整体发布
+	 */
+	default void registerBeanDefinitions(Map<String, ? extends BeanDefinition> beanDefinitions)
+			throws BeanDefinitionRegistException {
+		for (Map.Entry<String, ? extends BeanDefinition> e : beanDefinitions.entrySet()) {
+			this.registerBeanDefinition(e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * 已注册的bean定义数，批量注册的调用方据此决定批的大小
+	 */
+	default int getBeanDefinitionCount() {
+		return 0;
+	}
+
 }
@@ -0,0 +1,190 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanDependencyGraph.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Description: bean定义之间的依赖图.
+ * <p>
+ * 边来自构造参数、属性依赖中的 {@link BeanReference}(包括数组、集合、Map中的引用)以及工厂bean名，
+ * 只保留指向已注册bean的边。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class BeanDependencyGraph {
+
+    /**
+     * bean -> 它依赖的bean
+     */
+    private final Map<String, Set<String>> dependencies;
+
+    /**
+     * bean -> 依赖它的bean
+     */
+    private final Map<String, Set<String>> dependents;
+
+    private BeanDependencyGraph(Map<String, Set<String>> dependencies, Map<String, Set<String>> dependents) {
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    /**
+     * 根据注册的bean定义构建依赖图
+     *
+     * @param registry bean定义注册中心
+     * @param beanNames 参与的bean名
+     * @return 依赖图
+     */
+    public static BeanDependencyGraph build(BeanDefinitionRegistry registry, Collection<String> beanNames) {
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>(beanNames.size() * 2);
+        Map<String, Set<String>> dependents = new HashMap<>(beanNames.size() * 2);
+        for (String name : beanNames) {
+            dependencies.put(name, new LinkedHashSet<>());
+            dependents.put(name, new LinkedHashSet<>());
+        }
+
+        Set<String> refs = new LinkedHashSet<>();
+        for (String name : beanNames) {
+            BeanDefinition bd = registry.getBeanDefinition(name);
+            if (bd == null) {
+                continue;
+            }
+            refs.clear();
+            collectReferences(bd, refs);
+            for (String ref : refs) {
+                if (dependencies.containsKey(ref)) {
+                    dependencies.get(name).add(ref);
+                    dependents.get(ref).add(name);
+                }
+            }
+        }
+        return new BeanDependencyGraph(dependencies, dependents);
+    }
+
+    /**
+     * 由已知的边构建依赖图，如从bean定义索引中读出的边
+     *
+     * @param edges bean -> 它依赖的bean
+     * @return 依赖图
+     */
+    public static BeanDependencyGraph of(Map<String, ? extends Collection<String>> edges) {
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>(edges.size() * 2);
+        Map<String, Set<String>> dependents = new HashMap<>(edges.size() * 2);
+        for (String name : edges.keySet()) {
+            dependencies.put(name, new LinkedHashSet<>());
+            dependents.put(name, new LinkedHashSet<>());
+        }
+        for (Map.Entry<String, ? extends Collection<String>> e : edges.entrySet()) {
+            for (String ref : e.getValue()) {
+                if (dependencies.containsKey(ref)) {
+                    dependencies.get(e.getKey()).add(ref);
+                    dependents.get(ref).add(e.getKey());
+                }
+            }
+        }
+        return new BeanDependencyGraph(dependencies, dependents);
+    }
+
+    /**
+     * 收集bean定义直接引用的bean名，已解析自动装配的定义包括自动装配的引用
+     */
+    public static void collectReferences(BeanDefinition bd, Set<String> refs) {
+        if (StringUtils.isNotBlank(bd.getFactoryBeanName())) {
+            refs.add(bd.getFactoryBeanName());
+        }
+        AutowirePlan autowirePlan = bd.getAutowirePlan();
+        List<?> args = autowirePlan == null ? bd.getConstructorArgumentValues()
+                : autowirePlan.getConstructorArgumentValues();
+        List<PropertyValue> pvs = autowirePlan == null ? bd.getPropertyValues() : autowirePlan.getPropertyValues();
+        if (args != null) {
+            for (Object arg : args) {
+                collectReferences(arg, refs);
+            }
+        }
+        if (pvs != null) {
+            for (PropertyValue pv : pvs) {
+                collectReferences(pv.getValue(), refs);
+            }
+        }
+    }
+
+    private static void collectReferences(Object value, Set<String> refs) {
+        if (value instanceof BeanReference) {
+            refs.add(((BeanReference) value).getBeanName());
+        } else if (value instanceof Object[]) {
+            for (Object o : (Object[]) value) {
+                collectReferences(o, refs);
+            }
+        } else if (value instanceof Collection) {
+            for (Object o : (Collection<?>) value) {
+                collectReferences(o, refs);
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                collectReferences(e.getKey(), refs);
+                collectReferences(e.getValue(), refs);
+            }
+        }
+    }
+
+    public Collection<String> getBeanNames() {
+        return Collections.unmodifiableSet(this.dependencies.keySet());
+    }
+
+    public Set<String> getDependencies(String beanName) {
+        Set<String> deps = this.dependencies.get(beanName);
+        return deps == null ? Collections.emptySet() : Collections.unmodifiableSet(deps);
+    }
+
+    public Set<String> getDependents(String beanName) {
+        Set<String> deps = this.dependents.get(beanName);
+        return deps == null ? Collections.emptySet() : Collections.unmodifiableSet(deps);
+    }
+
+    /**
+     * 拓扑排序(被依赖的在前)，处在环上或依赖环的bean不在结果中
+     */
+    public List<String> topologicalOrder() {
+        Map<String, Integer> inDegree = new HashMap<>(this.dependencies.size() * 2);
+        Deque<String> ready = new ArrayDeque<>();
+        for (Map.Entry<String, Set<String>> e : this.dependencies.entrySet()) {
+            inDegree.put(e.getKey(), e.getValue().size());
+            if (e.getValue().isEmpty()) {
+                ready.add(e.getKey());
+            }
+        }
+
+        List<String> order = new ArrayList<>(this.dependencies.size());
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            order.add(name);
+            for (String dependent : this.dependents.get(name)) {
+                int d = inDegree.get(dependent) - 1;
+                inDegree.put(dependent, d);
+                if (d == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+}
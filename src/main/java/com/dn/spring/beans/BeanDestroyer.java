@@ -0,0 +1,148 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanDestroyer.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Description: 关闭bean工厂时执行销毁，互不依赖的销毁并行执行，所有阶段共用一个截止时间.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class BeanDestroyer {
+
+    private static final Log logger = LogFactory.getLog(BeanDestroyer.class);
+
+    private final Executor executor;
+
+    /**
+     * 截止时间(System.nanoTime)
+     */
+    private final long deadline;
+
+    BeanDestroyer(Executor executor, long deadline) {
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    /**
+     * 并行执行互不依赖的销毁任务
+     *
+     * @return 是否在截止时间前全部完成
+     */
+    boolean runAll(List<Runnable> tasks) {
+        CountDownLatch latch = new CountDownLatch(tasks.size());
+        for (Runnable task : tasks) {
+            this.submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        return this.await(latch);
+    }
+
+    /**
+     * 按依赖的逆序执行销毁：一个bean在依赖它的bean都销毁后才销毁，其余并行。
+     * 环上的bean合为一个分量，分量之间同样按依赖的逆序销毁，只有同一个环上的bean之间顺序不定
+     *
+     * @return 是否在截止时间前全部完成
+     */
+    boolean runInReverseOrder(BeanDependencyGraph graph, Consumer<String> destroyer) {
+        List<List<String>> components = BeanGraphAnalyzer.components(graph);
+        Map<String, Integer> componentOf = new HashMap<>(graph.getBeanNames().size() * 2);
+        for (int c = 0; c < components.size(); c++) {
+            for (String name : components.get(c)) {
+                componentOf.put(name, c);
+            }
+        }
+        // 分量之间的依赖，以及每个分量还未销毁的依赖者分量数
+        List<Set<Integer>> dependencies = new ArrayList<>(components.size());
+        AtomicIntegerArray pending = new AtomicIntegerArray(components.size());
+        for (int c = 0; c < components.size(); c++) {
+            Set<Integer> deps = new HashSet<>();
+            for (String name : components.get(c)) {
+                for (String dependency : graph.getDependencies(name)) {
+                    int d = componentOf.get(dependency);
+                    if (d != c && deps.add(d)) {
+                        pending.incrementAndGet(d);
+                    }
+                }
+            }
+            dependencies.add(deps);
+        }
+
+        CountDownLatch latch = new CountDownLatch(components.size());
+        for (int c = 0; c < components.size(); c++) {
+            if (pending.get(c) == 0) {
+                this.destroy(c, components, dependencies, pending, destroyer, latch);
+            }
+        }
+        return this.await(latch);
+    }
+
+    private void destroy(int component, List<List<String>> components, List<Set<Integer>> dependencies,
+            AtomicIntegerArray pending, Consumer<String> destroyer, CountDownLatch latch) {
+        this.submit(() -> {
+            try {
+                for (String name : components.get(component)) {
+                    this.runQuietly(name, destroyer);
+                }
+            } finally {
+                latch.countDown();
+            }
+            for (int d : dependencies.get(component)) {
+                if (pending.decrementAndGet(d) == 0) {
+                    this.destroy(d, components, dependencies, pending, destroyer, latch);
+                }
+            }
+        });
+    }
+
+    private void runQuietly(String name, Consumer<String> destroyer) {
+        try {
+            destroyer.accept(name);
+        } catch (RuntimeException e) {
+            logger.error("销毁bean[" + name + "]异常！", e);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(Math.max(this.deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
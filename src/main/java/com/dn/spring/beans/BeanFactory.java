@@ -1,5 +1,7 @@
 package com.dn.spring.beans;
 
+import java.util.Map;
+
 public interface BeanFactory {
 	/**
 	 * 获取bean
@@ -10,4 +12,61 @@ public interface BeanFactory {
 	 * @throws Exception
 	 */
 	Object getBean(String name) throws Exception;
+
+	/**
+	 * 按类型获取唯一的bean
+	 * 
+	 * @param type
+	 *            bean的类型，可以是父类或接口
+	 * @return bean 实例
+	 * @throws Exception
+	 *             没有或有多个该类型的bean定义
+	 */
+	<T> T getBean(Class<T> type) throws Exception;
+
+	/**
+	 * 获取所有该类型的bean，按bean定义注册的顺序
+	 * 
+	 * @param type
+	 *            bean的类型，可以是父类或接口
+	 * @return bean名 -> bean 实例
+	 * @throws Exception
+	 */
+	<T> Map<String, T> getBeansOfType(Class<T> type) throws Exception;
+
+	/**
+	 * 获取预先解析好的bean句柄，用于热点路径上反复获取同一个bean
+	 * 
+	 * @param name
+	 *            bean的名字
+	 * @param type
+	 *            期望的类型，创建句柄时检查一次
+	 * @return bean 句柄
+	 * @throws Exception
+	 */
+	<T> BeanHandle<T> getHandle(String name, Class<T> type) throws Exception;
+
+	/**
+	 * 从池化bean的实例池借出一个实例，用完后通过 {@link #releaseBean(String, Object)} 归还。
+	 * 非池化bean等同于 getBean
+	 * 
+	 * @param name
+	 *            bean的名字
+	 * @return bean 实例
+	 * @throws Exception
+	 */
+	Object borrowBean(String name) throws Exception;
+
+	/**
+	 * 归还借出的池化bean实例，归还前执行bean定义的重置方法
+	 * 
+	 * @param name
+	 *            bean的名字
+	 * @param bean
+	 *            借出的实例
+	 * @throws IllegalStateException
+	 *             实例不是从该池借出的，或已经归还
+	 * @throws Exception
+	 */
+	void releaseBean(String name, Object bean) throws Exception;
 }
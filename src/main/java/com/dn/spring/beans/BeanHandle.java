@@ -0,0 +1,33 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanHandle.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: 预先解析好的bean句柄，由 {@link BeanFactory#getHandle(String, Class)} 获得.
+ * <p>
+ * 单例句柄直接持有实例；原型句柄直接调用bean定义上缓存的实例化和注入计划，不再查找bean定义。
+ * 类型在创建句柄时检查一次。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public interface BeanHandle<T> {
+
+    /**
+     * bean名
+     */
+    String getName();
+
+    /**
+     * 获取bean实例
+     *
+     * @return bean实例
+     * @throws BeanCreationException 创建bean失败
+     */
+    T get();
+}
@@ -0,0 +1,33 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanInstantiator.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Description: 针对某个构造方法编译好的实例化器，由 {@link InstantiationStrategy} 创建，缓存在bean定义上.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public interface BeanInstantiator {
+
+    /**
+     * 对应的构造方法
+     */
+    Constructor<?> getConstructor();
+
+    /**
+     * 创建实例
+     *
+     * @param args 构造参数，无参时可为null
+     * @return 新实例
+     * @throws Throwable 构造方法抛出的异常
+     */
+    Object newInstance(Object[] args) throws Throwable;
+}
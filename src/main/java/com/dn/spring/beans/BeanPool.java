@@ -0,0 +1,487 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanPool.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Description: 池化bean的实例池.
+ * <p>
+ * 每个线程先从自己的小弹匣(magazine)借还，弹匣空了或满了才访问共享的无锁池，
+ * 热点路径上线程之间不竞争。共享池按后进先出使用，队尾是最久未用的实例，从队尾淘汰。
+ * 弹匣和共享池中的空闲实例共用一个计数，总数不超过最大数；淘汰时一并检查弹匣中的实例，
+ * 所属线程已结束的弹匣中的实例移回共享池。借出的实例登记在预先分配的身份表中(借还不分配对象)，
+ * 重复归还或归还不是借出的实例会被拒绝。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class BeanPool {
+
+    private static final Log logger = LogFactory.getLog(BeanPool.class);
+
+    private static final int MAGAZINE_SIZE = 4;
+
+    /**
+     * 不淘汰空闲实例时，清理已结束线程的弹匣的间隔
+     */
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String beanName;
+
+    private final BeanDefinition bd;
+
+    private final DefaultBeanFactory beanFactory;
+
+    private final int magazineSize;
+
+    private final long maxIdleNanos;
+
+    /**
+     * 共享池，队首最近归还
+     */
+    private final ConcurrentLinkedDeque<IdleBean> shared = new ConcurrentLinkedDeque<>();
+
+    /**
+     * 弹匣和共享池中的空闲实例总数
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * 借出未还的实例
+     */
+    private final LoanTable lent;
+
+    /**
+     * 所有线程的弹匣，淘汰和关闭时检查其中的实例
+     */
+    private final Queue<Magazine> magazines = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<Magazine> magazine = ThreadLocal.withInitial(this::newMagazine);
+
+    private final AtomicBoolean prefilled = new AtomicBoolean();
+
+    private volatile long nextEviction;
+
+    private volatile boolean closed;
+
+    private volatile ResetMethod resetMethod;
+
+    BeanPool(String beanName, BeanDefinition bd, DefaultBeanFactory beanFactory) {
+        this.beanName = beanName;
+        this.bd = bd;
+        this.beanFactory = beanFactory;
+        this.magazineSize = Math.min(MAGAZINE_SIZE, bd.getPoolMaxSize());
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(bd.getPoolMaxIdleMillis());
+        this.lent = new LoanTable(bd.getPoolMaxSize());
+        this.nextEviction = System.nanoTime() + this.evictionInterval();
+    }
+
+    /**
+     * 补足最小空闲数，只执行一次
+     */
+    void prefill() throws Exception {
+        if (!this.prefilled.compareAndSet(false, true)) {
+            return;
+        }
+        while (this.idleCount.get() < this.bd.getPoolMinSize() && this.tryAddIdle()) {
+            this.shared.offerFirst(new IdleBean(this.beanFactory.createBean(this.beanName, this.bd), System.nanoTime()));
+        }
+    }
+
+    /**
+     * 借出实例：弹匣、共享池都没有空闲实例时新建
+     */
+    Object borrow() throws Exception {
+        if (this.closed) {
+            throw new IllegalStateException("bean[" + this.beanName + "]的实例池已关闭");
+        }
+        Object instance = this.magazine.get().pop();
+        if (instance == null) {
+            IdleBean idle = this.shared.pollFirst();
+            instance = idle == null ? null : idle.instance;
+        }
+        if (instance != null) {
+            this.idleCount.decrementAndGet();
+        } else {
+            instance = this.beanFactory.createBean(this.beanName, this.bd);
+        }
+        this.lent.add(instance);
+        return instance;
+    }
+
+    /**
+     * 归还实例：先执行重置方法，重置失败或池已满的实例被销毁
+     *
+     * @throws IllegalStateException 实例不是从本池借出的，或已经归还
+     */
+    void release(Object instance) {
+        if (!this.lent.remove(instance)) {
+            throw new IllegalStateException("实例不是从bean[" + this.beanName + "]的实例池借出的，或已经归还：" + instance);
+        }
+        if (this.closed || !this.reset(instance) || !this.tryAddIdle()) {
+            this.destroy(instance);
+            return;
+        }
+        long now = System.nanoTime();
+        if (!this.magazine.get().push(instance, now)) {
+            this.shared.offerFirst(new IdleBean(instance, now));
+        }
+        if (this.closed) {
+            // 放入前池被关闭，close()可能已经清空过，再清一次
+            this.destroyIdle();
+            return;
+        }
+        if (now - this.nextEviction >= 0) {
+            this.evictIdle(now);
+        }
+    }
+
+    /**
+     * 淘汰空闲过久的实例(先共享池，再各线程的弹匣)，至少保留最小空闲数；
+     * 所属线程已结束的弹匣中的实例移回共享池
+     */
+    void evictIdle(long now) {
+        this.nextEviction = now + this.evictionInterval();
+        this.drainDeadMagazines();
+        if (this.maxIdleNanos <= 0) {
+            return;
+        }
+        long deadline = now - this.maxIdleNanos;
+        while (true) {
+            IdleBean oldest = this.shared.pollLast();
+            if (oldest == null) {
+                break;
+            }
+            if (oldest.since - deadline > 0 || !this.tryRemoveIdle()) {
+                this.shared.offerLast(oldest);
+                return;
+            }
+            this.destroy(oldest.instance);
+        }
+        for (Magazine m : this.magazines) {
+            while (this.tryRemoveIdle()) {
+                Object instance = m.pollIdleBefore(deadline);
+                if (instance == null) {
+                    this.idleCount.incrementAndGet();
+                    break;
+                }
+                this.destroy(instance);
+            }
+        }
+    }
+
+    /**
+     * 关闭池，销毁所有空闲实例。借出未还的实例归还时被销毁
+     */
+    void close() {
+        this.closed = true;
+        this.destroyIdle();
+    }
+
+    /**
+     * 取出并销毁所有空闲实例，取出是原子的，并发调用时每个实例只销毁一次
+     */
+    private void destroyIdle() {
+        IdleBean idle;
+        while ((idle = this.shared.pollFirst()) != null) {
+            this.idleCount.decrementAndGet();
+            this.destroy(idle.instance);
+        }
+        for (Magazine m : this.magazines) {
+            Object instance;
+            while ((instance = m.pop()) != null) {
+                this.idleCount.decrementAndGet();
+                this.destroy(instance);
+            }
+        }
+    }
+
+    int getIdleCount() {
+        return this.idleCount.get();
+    }
+
+    private long evictionInterval() {
+        return this.maxIdleNanos > 0 ? Math.max(this.maxIdleNanos / 2, 1) : SWEEP_INTERVAL_NANOS;
+    }
+
+    /**
+     * 空闲数未达最大数时占一个名额
+     */
+    private boolean tryAddIdle() {
+        int max = this.bd.getPoolMaxSize();
+        for (;;) {
+            int count = this.idleCount.get();
+            if (count >= max) {
+                return false;
+            }
+            if (this.idleCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 空闲数多于最小数时释放一个名额
+     */
+    private boolean tryRemoveIdle() {
+        int min = this.bd.getPoolMinSize();
+        for (;;) {
+            int count = this.idleCount.get();
+            if (count <= min) {
+                return false;
+            }
+            if (this.idleCount.compareAndSet(count, count - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drainDeadMagazines() {
+        for (Iterator<Magazine> it = this.magazines.iterator(); it.hasNext();) {
+            Magazine m = it.next();
+            if (m.isOwnerAlive()) {
+                continue;
+            }
+            it.remove();
+            IdleBean idle;
+            while ((idle = m.pollIdle()) != null) {
+                this.shared.offerLast(idle);
+            }
+        }
+    }
+
+    private Magazine newMagazine() {
+        Magazine m = new Magazine(this.magazineSize);
+        this.magazines.add(m);
+        return m;
+    }
+
+    private boolean reset(Object instance) {
+        if (StringUtils.isBlank(this.bd.getResetMethodName())) {
+            return true;
+        }
+        try {
+            ResetMethod rm = this.resetMethod;
+            if (rm == null || rm.type != instance.getClass()) {
+                rm = new ResetMethod(instance.getClass(),
+                        instance.getClass().getMethod(this.bd.getResetMethodName()));
+                this.resetMethod = rm;
+            }
+            rm.method.invoke(instance);
+            return true;
+        } catch (Exception e) {
+            logger.error("执行bean[" + this.beanName + "] " + this.bd + " 的 重置方法异常，实例不再复用！", e);
+            return false;
+        }
+    }
+
+    private void destroy(Object instance) {
+        if (StringUtils.isBlank(this.bd.getDestroyMethodName())) {
+            return;
+        }
+        try {
+            Method m = instance.getClass().getMethod(this.bd.getDestroyMethodName());
+            m.invoke(instance);
+        } catch (Exception e) {
+            logger.error("执行bean[" + this.beanName + "] " + this.bd + " 的 销毁方法异常！", e);
+        }
+    }
+
+    private static final class IdleBean {
+
+        private final Object instance;
+
+        private final long since;
+
+        IdleBean(Object instance, long since) {
+            this.instance = instance;
+            this.since = since;
+        }
+    }
+
+    /**
+     * 借出实例的身份表：预先分配的开放寻址数组，线性探测，CAS占位和删除，借还都不分配对象。
+     * 删除的位置留下墓碑供之后的登记复用；表中放不下时(借出远超池的最大数)登记到溢出表
+     */
+    private static final class LoanTable {
+
+        private static final Object TOMBSTONE = new Object();
+
+        private final AtomicReferenceArray<Object> slots;
+
+        private final int mask;
+
+        private final Set<Object> overflow = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        private volatile boolean overflowed;
+
+        LoanTable(int maxSize) {
+            int capacity = Integer.highestOneBit(Math.max(64, Math.min(maxSize, 1 << 14) * 4) - 1) << 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        void add(Object instance) {
+            int start = mix(System.identityHashCode(instance));
+            for (int i = 0; i <= this.mask; i++) {
+                int index = (start + i) & this.mask;
+                Object current = this.slots.get(index);
+                if ((current == null || current == TOMBSTONE) && this.slots.compareAndSet(index, current, instance)) {
+                    return;
+                }
+            }
+            this.overflowed = true;
+            this.overflow.add(new Lent(instance));
+        }
+
+        /**
+         * @return 实例登记过且本次取消登记成功
+         */
+        boolean remove(Object instance) {
+            int start = mix(System.identityHashCode(instance));
+            for (int i = 0; i <= this.mask; i++) {
+                int index = (start + i) & this.mask;
+                Object current = this.slots.get(index);
+                if (current == instance) {
+                    return this.slots.compareAndSet(index, instance, TOMBSTONE);
+                }
+                if (current == null) {
+                    break;
+                }
+            }
+            return this.overflowed && this.overflow.remove(new Lent(instance));
+        }
+
+        private static int mix(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * 溢出表中按对象身份比较的借出登记
+     */
+    private static final class Lent {
+
+        private final Object instance;
+
+        Lent(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Lent && ((Lent) o).instance == this.instance;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.instance);
+        }
+    }
+
+    private static final class ResetMethod {
+
+        private final Class<?> type;
+
+        private final Method method;
+
+        ResetMethod(Class<?> type, Method method) {
+            this.type = type;
+            this.method = method;
+        }
+    }
+
+    /**
+     * 线程自己的弹匣，栈底是最久未用的实例。只有所属线程和淘汰、关闭池的线程访问，锁基本无竞争
+     */
+    private static final class Magazine {
+
+        private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+        private final Object[] slots;
+
+        private final long[] since;
+
+        private int size;
+
+        Magazine(int capacity) {
+            this.slots = new Object[capacity];
+            this.since = new long[capacity];
+        }
+
+        boolean isOwnerAlive() {
+            Thread t = this.owner.get();
+            return t != null && t.isAlive();
+        }
+
+        synchronized Object pop() {
+            if (this.size == 0) {
+                return null;
+            }
+            Object instance = this.slots[--this.size];
+            this.slots[this.size] = null;
+            return instance;
+        }
+
+        synchronized boolean push(Object instance, long now) {
+            if (this.size == this.slots.length) {
+                return false;
+            }
+            this.since[this.size] = now;
+            this.slots[this.size++] = instance;
+            return true;
+        }
+
+        /**
+         * 取出栈底的实例，连同归还时间
+         */
+        synchronized IdleBean pollIdle() {
+            if (this.size == 0) {
+                return null;
+            }
+            IdleBean idle = new IdleBean(this.slots[0], this.since[0]);
+            this.removeBottom();
+            return idle;
+        }
+
+        /**
+         * 栈底的实例在deadline之前归还时取出
+         */
+        synchronized Object pollIdleBefore(long deadline) {
+            if (this.size == 0 || this.since[0] - deadline > 0) {
+                return null;
+            }
+            Object instance = this.slots[0];
+            this.removeBottom();
+            return instance;
+        }
+
+        private void removeBottom() {
+            System.arraycopy(this.slots, 1, this.slots, 0, this.size - 1);
+            System.arraycopy(this.since, 1, this.since, 0, this.size - 1);
+            this.slots[--this.size] = null;
+        }
+    }
+}
@@ -17,12 +17,26 @@ public class BeanReference {
 
     private String beanName;
 
+    /**
+     * 是否需要引用的bean已完成(异步)初始化
+     */
+    private boolean ready;
+
     public BeanReference(String beanName) {
         super();
         this.beanName = beanName;
     }
 
+    public BeanReference(String beanName, boolean ready) {
+        this(beanName);
+        this.ready = ready;
+    }
+
     public String getBeanName() {
         return beanName;
     }
+
+    public boolean isReady() {
+        return ready;
+    }
 }
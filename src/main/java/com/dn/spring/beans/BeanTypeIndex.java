@@ -0,0 +1,151 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanTypeIndex.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Description: 按类型查找bean名字的索引.
+ * <p>
+ * 注册bean定义时推断出bean的类型，把它的每个父类和接口都映射到bean名，按类型查找只需一次map查询。
+ * 查询结果缓存为数组，注册新定义时清空。注册时推断不出类型的定义(例如工厂bean尚未注册)暂存起来，下次查询时重试，
+ * 按注册序号插入，查询结果始终按注册顺序排列。
+ * 写操作由bean工厂在注册锁内调用。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class BeanTypeIndex {
+
+    private static final String[] NO_NAMES = new String[0];
+
+    /**
+     * 类的所有父类和接口(含自身)，每个类只计算一次
+     */
+    private static final ClassValue<Class<?>[]> SUPERTYPES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            Deque<Class<?>> queue = new ArrayDeque<>();
+            queue.add(type);
+            while (!queue.isEmpty()) {
+                Class<?> c = queue.poll();
+                if (types.add(c)) {
+                    if (c.getSuperclass() != null) {
+                        queue.add(c.getSuperclass());
+                    }
+                    for (Class<?> i : c.getInterfaces()) {
+                        queue.add(i);
+                    }
+                }
+            }
+            if (type.isInterface()) {
+                types.add(Object.class);
+            }
+            return types.toArray(new Class<?>[0]);
+        }
+    };
+
+    private final Map<Class<?>, List<String>> namesByType = new HashMap<>(256);
+
+    /**
+     * bean名 -> 注册序号
+     */
+    private final Map<String, Integer> sequence = new HashMap<>(256);
+
+    /**
+     * 还没推断出类型的bean名
+     */
+    private final Set<String> untyped = new LinkedHashSet<>();
+
+    private final Map<Class<?>, String[]> cache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 登记一个新注册的bean定义
+     *
+     * @param beanName bean名
+     * @param beanType 推断出的类型，为null时留待查询时重试
+     */
+    void add(String beanName, Class<?> beanType) {
+        this.sequence.put(beanName, this.sequence.size());
+        if (beanType == null) {
+            this.untyped.add(beanName);
+        } else {
+            this.index(beanName, beanType);
+        }
+        this.cache.clear();
+    }
+
+    /**
+     * 查询缓存，未命中返回null
+     */
+    String[] getCached(Class<?> type) {
+        return this.cache.get(type);
+    }
+
+    /**
+     * 重试之前推断不出类型的定义，然后生成并缓存type的查询结果
+     *
+     * @param type 查询的类型
+     * @param typePredictor 推断bean类型，推断不出时返回null
+     */
+    String[] resolve(Class<?> type, Function<String, Class<?>> typePredictor) {
+        String[] names = this.cache.get(type);
+        if (names != null) {
+            return names;
+        }
+        for (Iterator<String> it = this.untyped.iterator(); it.hasNext();) {
+            String beanName = it.next();
+            Class<?> beanType = typePredictor.apply(beanName);
+            if (beanType != null) {
+                this.index(beanName, beanType);
+                it.remove();
+            }
+        }
+        List<String> list = this.namesByType.get(type);
+        names = list == null ? NO_NAMES : list.toArray(NO_NAMES);
+        this.cache.put(type, names);
+        return names;
+    }
+
+    private void index(String beanName, Class<?> beanType) {
+        if (beanType.isPrimitive()) {
+            return;
+        }
+        int seq = this.sequence.get(beanName);
+        for (Class<?> t : SUPERTYPES.get(beanType)) {
+            List<String> names = this.namesByType.computeIfAbsent(t, k -> new ArrayList<>(2));
+            if (names.isEmpty() || this.sequence.get(names.get(names.size() - 1)) < seq) {
+                names.add(beanName);
+            } else {
+                // 延后推断出类型的定义插入到注册顺序对应的位置
+                int low = 0;
+                int high = names.size();
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (this.sequence.get(names.get(mid)) < seq) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                names.add(low, beanName);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ContextScope.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Description: 结构化的上下文作用域，实例属于显式打开的 {@link ScopeContext} 而不是线程.
+ * 一个请求或任务打开一个上下文，结束时关闭并销毁其中的实例；上下文可以传给子任务共享。
+ * 线程只在上下文打开期间持有它的引用，适合大量虚拟线程，不会按线程数复制实例。
+ * <pre>
+ * try (ScopeContext ctx = contextScope.open()) {
+ *     bf.getBean("formatter");
+ * }
+ * </pre>
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ContextScope implements Scope {
+
+    private final ThreadLocal<ScopeContext> current = new ThreadLocal<>();
+
+    /**
+     * 打开中的上下文，工厂关闭时销毁
+     */
+    private final Set<ScopeContext> openContexts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 打开一个新上下文并绑定到当前线程，关闭时恢复之前的上下文
+     */
+    public ScopeContext open() {
+        ScopeContext context = new ScopeContext(this, this.current.get());
+        this.openContexts.add(context);
+        this.current.set(context);
+        return context;
+    }
+
+    /**
+     * 当前线程绑定的上下文，没有时为null
+     */
+    public ScopeContext currentContext() {
+        return this.current.get();
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) throws Exception {
+        return this.requireContext().get(name, objectFactory);
+    }
+
+    @Override
+    public Object remove(String name) {
+        ScopeContext context = this.current.get();
+        return context == null ? null : context.remove(name);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        this.requireContext().registerDestructionCallback(name, callback);
+    }
+
+    @Override
+    public void destroy() {
+        for (ScopeContext context : this.openContexts) {
+            context.destroy();
+        }
+        this.openContexts.clear();
+    }
+
+    private ScopeContext requireContext() {
+        ScopeContext context = this.current.get();
+        if (context == null) {
+            throw new IllegalStateException("当前线程没有打开的作用域上下文，请先调用ContextScope.open()");
+        }
+        return context;
+    }
+
+    ScopeContext bind(ScopeContext context) {
+        ScopeContext saved = this.current.get();
+        this.current.set(context);
+        return saved;
+    }
+
+    void restore(ScopeContext saved) {
+        if (saved == null) {
+            this.current.remove();
+        } else {
+            this.current.set(saved);
+        }
+    }
+
+    void unbind(ScopeContext context) {
+        this.openContexts.remove(context);
+        if (this.current.get() == context) {
+            this.restore(context.getPrevious());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ContextSnapshot.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Executable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Description: 已完成解析的bean工厂的快照，用于命令行工具等短进程的快速启动.
+ * <p>
+ * 在预实例化单例之后写出：bean定义、依赖图、解析出的构造方法/工厂方法(格式同 {@link BeanDefinitionIndex})，
+ * 以及涉及的每个类的字节码校验值。恢复时内存映射读入，校验值全部一致才登记定义并预实例化单例，
+ * 不再重新解析构造方法；文件不存在、损坏或类有变化时返回false，调用方按正常流程注册。
+ * MethodHandle无法序列化，属性注入计划在首次创建时按记录的属性名重新生成。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class ContextSnapshot {
+
+    private static final Log logger = LogFactory.getLog(ContextSnapshot.class);
+
+    private static final int MAGIC = 0x444E5353;
+
+    private static final short VERSION = 1;
+
+    private ContextSnapshot() {
+    }
+
+    /**
+     * 写出快照，应在预实例化单例之后调用
+     */
+    public static void write(PreBuildBeanFactory bf, Path file) throws IOException {
+        Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String name : bf.getBeanDefinitionNames()) {
+            BeanDefinition bd = bf.getBeanDefinition(name);
+            definitions.put(name, bd);
+            if (bd.getBeanClass() != null) {
+                classes.add(bd.getBeanClass());
+            }
+            if (bd instanceof GenericBeanDefinition) {
+                for (Executable e : ((GenericBeanDefinition) bd).getResolvedExecutables().values()) {
+                    classes.add(e.getDeclaringClass());
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream dos = new DataOutputStream(bytes);
+        dos.writeInt(MAGIC);
+        dos.writeShort(VERSION);
+        dos.writeInt(classes.size());
+        for (Class<?> c : classes) {
+            dos.writeUTF(c.getName());
+            dos.writeLong(classHash(c.getClassLoader(), c.getName()));
+        }
+        BeanDefinitionIndex.write(definitions, dos);
+        dos.flush();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            bytes.writeTo(out);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 从快照恢复bean工厂并预实例化单例
+     *
+     * @return 是否恢复成功，false时工厂未被修改，调用方应按正常流程启动
+     */
+    public static boolean restore(PreBuildBeanFactory bf, Path file, ClassLoader classLoader) throws Exception {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        BeanDefinitionIndex index;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getShort() != VERSION) {
+                logger.info("快照" + file + "格式不符，按正常流程启动");
+                return false;
+            }
+            int classCount = buf.getInt();
+            // 每个类至少占类名长度2字节加校验值8字节
+            if (classCount < 0 || classCount > buf.remaining() / 10) {
+                logger.info("快照" + file + "已损坏，按正常流程启动");
+                return false;
+            }
+            for (int i = 0; i < classCount; i++) {
+                String className = readUTF(buf);
+                long hash = buf.getLong();
+                if (classHash(classLoader, className) != hash) {
+                    logger.info("类" + className + "已变化，快照" + file + "失效，按正常流程启动");
+                    return false;
+                }
+            }
+            index = BeanDefinitionIndex.read(new ByteBufferInputStream(buf), classLoader);
+        } catch (IOException | ClassNotFoundException | NoSuchMethodException | RuntimeException e) {
+            // 损坏的内容可能引发BufferUnderflowException、IllegalArgumentException、ClassCastException等
+            logger.info("读取快照" + file + "失败，按正常流程启动", e);
+            return false;
+        }
+
+        for (String name : index.getBeanDefinitions().keySet()) {
+            if (bf.containsBeanDefinition(name)) {
+                logger.info("快照中的bean[" + name + "]已在工厂中注册，按正常流程启动");
+                return false;
+            }
+        }
+        try {
+            bf.loadBeanDefinitionIndex(index);
+        } catch (BeanDefinitionRegistException e) {
+            // 与并发注册重名：批量发布要么全部登记要么都不登记，工厂未被修改
+            logger.info("登记快照" + file + "失败，按正常流程启动", e);
+            return false;
+        }
+        bf.preInstantiateSingletons();
+        return true;
+    }
+
+    /**
+     * 类字节码的CRC32，找不到字节码时为-1
+     */
+    private static long classHash(ClassLoader classLoader, String className) throws IOException {
+        ClassLoader cl = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        try (InputStream in = cl.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (in == null) {
+                return -1L;
+            }
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, n);
+            }
+            return crc.getValue();
+        }
+    }
+
+    /**
+     * 读取DataOutput.writeUTF写出的类名，类名中不会出现修改版UTF-8与标准UTF-8不同的字符
+     */
+    private static String readUTF(ByteBuffer buf) {
+        int length = buf.getShort() & 0xFFFF;
+        if (length > buf.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取映射缓冲区剩余部分的输入流
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return this.buf.hasRemaining() ? this.buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!this.buf.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, this.buf.remaining());
+            this.buf.get(b, off, n);
+            return n;
+        }
+    }
+}
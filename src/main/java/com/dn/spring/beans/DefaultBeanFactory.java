@@ -3,19 +3,35 @@ package com.dn.spring.beans;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.lang.reflect.Executable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import com.dn.spring.beans.convert.ConversionService;
+import com.dn.spring.beans.metrics.BeanFactoryMetrics;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -27,7 +43,22 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
 
     private final Log logger = LogFactory.getLog(getClass());
 
-    private Map<String, BeanDefinition> beanDefintionMap = new ConcurrentHashMap<>(256);
+    /**
+     * 注册时加锁，批量注册整体替换为新的map，读不加锁
+     */
+    private volatile Map<String, BeanDefinition> beanDefintionMap = new ConcurrentHashMap<>(256);
+
+    private final Object registrationLock = new Object();
+
+    /**
+     * 类型 -> bean名的索引，注册时维护
+     */
+    private final BeanTypeIndex typeIndex = new BeanTypeIndex();
+
+    /**
+     * 注册次数，自动装配计划据此判断是否失效
+     */
+    private volatile long registrationCount;
 
     private Map<String, Object> beanMap = new ConcurrentHashMap<>(256);
 
@@ -36,6 +67,148 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
      */
     private ThreadLocal<Set<String>> buildingBeans = new ThreadLocal<>();
 
+    /**
+     * 记录指标时，当前线程上正在创建的bean中嵌套创建依赖bean累计的耗时，用于得到各阶段不含依赖的耗时
+     */
+    private final ThreadLocal<long[]> nestedCreationNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * 创建中的单例，用于保证单例只被创建一次
+     */
+    private final ConcurrentHashMap<String, SingletonCreation> singletonsInCreation = new ConcurrentHashMap<>();
+
+    /**
+     * 三级缓存：构造完成、尚未注入属性的单例的引用工厂
+     */
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
+
+    /**
+     * 二级缓存：已提前暴露的单例引用
+     */
+    private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
+
+    /**
+     * 线程正在等待的单例创建，用于检测跨线程的循环依赖
+     */
+    private final ConcurrentHashMap<Thread, SingletonCreation> waitingCreations = new ConcurrentHashMap<>();
+
+    /**
+     * 池化bean的实例池
+     */
+    private final ConcurrentHashMap<String, BeanPool> beanPools = new ConcurrentHashMap<>();
+
+    /**
+     * 延迟初始化单例的代理
+     */
+    private final ConcurrentHashMap<String, Object> lazyProxies = new ConcurrentHashMap<>();
+
+    /**
+     * 未完成(或失败)的异步初始化
+     */
+    private final ConcurrentHashMap<String, AsyncInit> pendingInits = new ConcurrentHashMap<>();
+
+    /**
+     * 执行异步初始化方法的线程池
+     */
+    private Executor initExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * 登记在关闭时销毁的原型、池化实例
+     */
+    private final Queue<DisposableBean> disposableBeans = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 关闭时并行执行销毁的线程池
+     */
+    private Executor destroyExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * 关闭的超时时间(毫秒)
+     */
+    private long closeTimeoutMillis = 30000;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 注册的作用域
+     */
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>(8);
+
+    /**
+     * 是否已冻结
+     */
+    private volatile boolean frozen;
+
+    /**
+     * 冻结后的只读索引。普通字段：其他线程暂时看不到时退回到ConcurrentHashMap查找，结果相同
+     */
+    private FrozenBeanIndex frozenIndex;
+
+    /**
+     * 指标记录，默认不记录
+     */
+    private BeanFactoryMetrics metrics = BeanFactoryMetrics.NOOP;
+
+    /**
+     * 实例化策略
+     */
+    private InstantiationStrategy instantiationStrategy = new MethodHandleInstantiationStrategy();
+
+    /**
+     * 字面值的占位符解析和类型转换
+     */
+    private ConversionService conversionService = new ConversionService();
+
+    public DefaultBeanFactory() {
+        this.registerScope(BeanDefinition.SCOPE_THREAD, new ThreadScope());
+        this.registerScope(BeanDefinition.SCOPE_CONTEXT, new ContextScope());
+    }
+
+    /**
+     * 注册作用域，同名的作用域被替换。singleton、prototype、pooled 由工厂自己管理，不能注册
+     */
+    public void registerScope(String scopeName, Scope scope) {
+        Objects.requireNonNull(scopeName, "scopeName不能为空");
+        Objects.requireNonNull(scope, "scope不能为空");
+        if (BeanDefinition.SCOPE_SINGLETION.equals(scopeName) || BeanDefinition.SCOPE_PROTOTYPE.equals(scopeName)
+                || BeanDefinition.SCOPE_POOLED.equals(scopeName)) {
+            throw new IllegalArgumentException("不能替换内置的作用域：" + scopeName);
+        }
+        this.scopes.put(scopeName, scope);
+    }
+
+    public Scope getRegisteredScope(String scopeName) {
+        return this.scopes.get(scopeName);
+    }
+
+    public void setInitExecutor(Executor initExecutor) {
+        this.initExecutor = Objects.requireNonNull(initExecutor, "initExecutor不能为空");
+    }
+
+    public BeanFactoryMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(BeanFactoryMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics不能为空");
+    }
+
+    public ConversionService getConversionService() {
+        return conversionService;
+    }
+
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = Objects.requireNonNull(conversionService, "conversionService不能为空");
+    }
+
+    public InstantiationStrategy getInstantiationStrategy() {
+        return instantiationStrategy;
+    }
+
+    public void setInstantiationStrategy(InstantiationStrategy instantiationStrategy) {
+        this.instantiationStrategy = Objects.requireNonNull(instantiationStrategy, "instantiationStrategy不能为空");
+    }
+
     @Override
     public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition)
             throws BeanDefinitionRegistException {
@@ -47,17 +220,125 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
             throw new BeanDefinitionRegistException("名字为[" + beanName + "] 的bean定义不合法：" + beanDefinition);
         }
 
-        if (this.containsBeanDefinition(beanName)) {
-            throw new BeanDefinitionRegistException(
-                    "名字为[" + beanName + "] 的bean定义已存在:" + this.getBeanDefinition(beanName));
-        }
+        synchronized (this.registrationLock) {
+            // 在注册锁内检查，与freeze()互斥，冻结后建立的索引不会漏掉定义
+            if (this.frozen) {
+                throw new BeanDefinitionRegistException("bean工厂已冻结，不能再注册名字为[" + beanName + "] 的bean定义");
+            }
+            if (this.containsBeanDefinition(beanName)) {
+                throw new BeanDefinitionRegistException(
+                        "名字为[" + beanName + "] 的bean定义已存在:" + this.getBeanDefinition(beanName));
+            }
 
-        this.beanDefintionMap.put(beanName, beanDefinition);
+            this.beanDefintionMap.put(beanName, beanDefinition);
+            this.typeIndex.add(beanName, this.predictTypeOnRegistration(beanDefinition));
+            this.registrationCount++;
+            this.onBeanDefinitionsRegistered(Collections.singletonList(beanName));
+        }
         logger.info("【" + beanName + "】 注册成功！");
     }
 
+    /**
+     * 批量注册bean定义：并行校验，一次检查重名，全部合法时整体发布，其他线程看不到注册了一部分的批次
+     *
+     * @param beanDefinitions beanName -> bean定义
+     * @throws BeanDefinitionRegistException 有定义不合法或重名时，一个也不注册
+     */
+    @Override
+    public void registerBeanDefinitions(Map<String, ? extends BeanDefinition> beanDefinitions)
+            throws BeanDefinitionRegistException {
+        Objects.requireNonNull(beanDefinitions, "注册bean需要给入beanDefinitions");
+        List<String> invalid = beanDefinitions.entrySet().parallelStream()
+                .filter(e -> e.getKey() == null || e.getValue() == null || !e.getValue().validate())
+                .map(e -> String.valueOf(e.getKey()))
+                .limit(10)
+                .collect(Collectors.toList());
+        if (!invalid.isEmpty()) {
+            throw new BeanDefinitionRegistException("名字为" + invalid + "的bean定义不合法");
+        }
+        this.publishBeanDefinitions(beanDefinitions, null);
+        logger.info("批量注册了 " + beanDefinitions.size() + " 个bean定义");
+    }
+
+    /**
+     * 检查重名后整体发布：复制出预设大小的新map，放入新定义后替换，已有定义和新定义要么都可见要么都不可见。
+     * 子类的登记回调在同一把注册锁内执行
+     *
+     * @param index 从bean定义索引登记时为该索引，否则为null
+     */
+    private void publishBeanDefinitions(Map<String, ? extends BeanDefinition> beanDefinitions,
+            BeanDefinitionIndex index) throws BeanDefinitionRegistException {
+        synchronized (this.registrationLock) {
+            if (this.frozen) {
+                throw new BeanDefinitionRegistException("bean工厂已冻结，不能再注册bean定义");
+            }
+            Map<String, BeanDefinition> current = this.beanDefintionMap;
+            for (String beanName : beanDefinitions.keySet()) {
+                if (current.containsKey(beanName)) {
+                    throw new BeanDefinitionRegistException(
+                            "名字为[" + beanName + "] 的bean定义已存在:" + current.get(beanName));
+                }
+            }
+            int size = current.size() + beanDefinitions.size();
+            Map<String, BeanDefinition> next = new ConcurrentHashMap<>(Math.max(256, (int) (size / 0.75f) + 1));
+            next.putAll(current);
+            next.putAll(beanDefinitions);
+            this.beanDefintionMap = next;
+            for (Map.Entry<String, ? extends BeanDefinition> e : beanDefinitions.entrySet()) {
+                this.typeIndex.add(e.getKey(), this.predictTypeOnRegistration(e.getValue()));
+            }
+            this.registrationCount++;
+            if (index == null) {
+                this.onBeanDefinitionsRegistered(beanDefinitions.keySet());
+            } else {
+                this.onBeanDefinitionIndexLoaded(index);
+            }
+        }
+    }
+
+    /**
+     * 批量登记构建时生成的bean定义索引：索引中的定义在生成时已校验，这里只检查重名，不再逐个输出日志
+     */
+    public void loadBeanDefinitionIndex(BeanDefinitionIndex index) throws BeanDefinitionRegistException {
+        Objects.requireNonNull(index, "index不能为空");
+        if (this.frozen) {
+            throw new BeanDefinitionRegistException("bean工厂已冻结，不能再登记bean定义索引");
+        }
+        Map<String, BeanDefinition> definitions = index.getBeanDefinitions();
+        this.publishBeanDefinitions(definitions, index);
+        logger.info("从索引登记了 " + definitions.size() + " 个bean定义");
+    }
+
+    /**
+     * 注册锁：子类在此锁内读写随注册更新的状态，读到的状态与已发布的bean定义一致
+     */
+    protected final Object getRegistrationLock() {
+        return this.registrationLock;
+    }
+
+    /**
+     * 注册bean定义后在注册锁内调用，与发布一起对其他线程可见，子类可在此记录bean名。不得在此获取bean
+     *
+     * @param beanNames 本次注册的bean名，按注册顺序
+     */
+    protected void onBeanDefinitionsRegistered(Collection<String> beanNames) {
+    }
+
+    /**
+     * 登记bean定义索引后在注册锁内调用，子类可在此记录bean名和依赖图。不得在此获取bean
+     */
+    protected void onBeanDefinitionIndexLoaded(BeanDefinitionIndex index) {
+    }
+
     @Override
     public BeanDefinition getBeanDefinition(String beanName) {
+        FrozenBeanIndex index = this.frozenIndex;
+        if (index != null) {
+            BeanDefinition bd = index.getBeanDefinition(beanName);
+            if (bd != null) {
+                return bd;
+            }
+        }
         return this.beanDefintionMap.get(beanName);
     }
 
@@ -67,14 +348,213 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
         return this.beanDefintionMap.containsKey(beanName);
     }
 
+    @Override
+    public int getBeanDefinitionCount() {
+        return this.beanDefintionMap.size();
+    }
+
+    /**
+     * 冻结bean工厂：之后不能再注册bean定义，已注册的定义和已创建的单例压缩为只读索引，
+     * getBean先查该索引，不再有volatile读。一般在预实例化单例之后调用。
+     */
+    public void freeze() {
+        this.resolveAutowiring();
+        synchronized (this.registrationLock) {
+            this.frozen = true;
+            this.frozenIndex = new FrozenBeanIndex(this.beanDefintionMap, this.beanMap);
+        }
+    }
+
+    /**
+     * 为所有自动装配的bean定义构建装配计划，候选bean不唯一等错误在这里一次报出，而不是在获取bean时。
+     * 冻结和预实例化单例前调用
+     *
+     * @throws BeanCreationException 有定义无法装配
+     */
+    public void resolveAutowiring() {
+        List<String> errors = new ArrayList<>();
+        for (BeanDefinition bd : this.beanDefintionMap.values()) {
+            try {
+                this.getAutowirePlan(bd);
+            } catch (BeanCreationException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BeanCreationException("自动装配失败：\n" + String.join("\n", errors));
+        }
+    }
+
+    /**
+     * 自动装配计划只构建一次，之后又注册了bean定义或显式依赖变化时重建
+     *
+     * @return 不自动装配时为null
+     */
+    private AutowirePlan getAutowirePlan(BeanDefinition bd) {
+        String mode = bd.getAutowireMode();
+        if (mode == null || BeanDefinition.AUTOWIRE_NO.equals(mode)) {
+            return null;
+        }
+        long count = this.registrationCount;
+        AutowirePlan plan = bd.getAutowirePlan();
+        if (plan == null || !plan.isValidFor(bd, count)) {
+            plan = AutowirePlan.build(bd, this, count);
+            bd.setAutowirePlan(plan);
+        }
+        return plan;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
     @Override
     public Object getBean(String name) throws Exception {
+        FrozenBeanIndex index = this.frozenIndex;
+        if (index != null && name != null) {
+            Object singleton = index.getSingleton(name);
+            if (singleton != null) {
+                return singleton;
+            }
+        }
         return this.doGetBean(name);
     }
 
+    @Override
+    public <T> BeanHandle<T> getHandle(String name, Class<T> type) throws Exception {
+        Objects.requireNonNull(name, "beanName不能为空");
+        Objects.requireNonNull(type, "type不能为空");
+        BeanDefinition bd = this.getBeanDefinition(name);
+        Objects.requireNonNull(bd, "不存在name为：" + name + "的beean 定义！");
+
+        if (bd.isSingleton()) {
+            Object instance = this.doGetBean(name);
+            checkType(name, instance.getClass(), type);
+            return new SingletonBeanHandle<>(name, type.cast(instance));
+        }
+        if (bd.isPrototype()) {
+            Class<?> beanType = this.predictBeanType(bd);
+            if (beanType == null || (!type.isAssignableFrom(beanType) && mayReturnSubtype(bd, beanType, type))) {
+                // 推断不出类型，或工厂方法声明的是接口、父类时，实际类型在get()时检查，不为检查创建实例
+                return new PrototypeBeanHandle<>(this, name, bd, type);
+            }
+            checkType(name, beanType, type);
+            return new PrototypeBeanHandle<>(this, name, bd, null);
+        }
+        return new LookupBeanHandle<>(this, name, type);
+    }
+
+    @Override
+    public <T> T getBean(Class<T> type) throws Exception {
+        String[] names = this.getBeanNamesForType(type);
+        if (names.length == 0) {
+            throw new IllegalArgumentException("不存在类型为：" + type.getName() + "的bean定义！");
+        }
+        if (names.length > 1) {
+            throw new IllegalStateException(
+                    "类型为" + type.getName() + "的bean定义不唯一：" + Arrays.toString(names));
+        }
+        return type.cast(this.getBean(names[0]));
+    }
+
+    @Override
+    public <T> Map<String, T> getBeansOfType(Class<T> type) throws Exception {
+        String[] names = this.getBeanNamesForType(type);
+        Map<String, T> beans = new LinkedHashMap<>(names.length * 2);
+        for (String name : names) {
+            BeanDefinition bd = this.getBeanDefinition(name);
+            // 池化bean需要借还，不在这里借出
+            if (bd != null && !bd.isPooled()) {
+                beans.put(name, type.cast(this.getBean(name)));
+            }
+        }
+        return beans;
+    }
+
+    /**
+     * 返回能赋值给给定类型的bean名：先查缓存，未命中时在注册锁内从类型索引生成。
+     * 只按bean定义推断的类型匹配，推断不出类型的定义不会出现在结果中
+     *
+     * @param type 类型，可以是父类或接口
+     * @return bean名，没有时为空数组。调用方不得修改
+     */
+    public String[] getBeanNamesForType(Class<?> type) {
+        Objects.requireNonNull(type, "type不能为空");
+        String[] names = this.typeIndex.getCached(type);
+        if (names != null) {
+            return names;
+        }
+        synchronized (this.registrationLock) {
+            return this.typeIndex.resolve(type, name -> {
+                BeanDefinition bd = this.getBeanDefinition(name);
+                return bd == null ? null : this.predictBeanType(bd);
+            });
+        }
+    }
+
+    /**
+     * 注册时推断类型；bean类尚未加载的定义不在注册锁内加载类，留到第一次按类型查找时再推断
+     */
+    private Class<?> predictTypeOnRegistration(BeanDefinition bd) {
+        return bd.isBeanClassResolved() ? this.predictBeanType(bd) : null;
+    }
+
+    /**
+     * 工厂方法声明的返回类型不能赋给type时，实际返回的子类是否仍可能赋给type
+     */
+    private static boolean mayReturnSubtype(BeanDefinition bd, Class<?> returnType, Class<?> type) {
+        if (StringUtils.isBlank(bd.getFactoryMethodName())) {
+            return false;
+        }
+        return returnType.isAssignableFrom(type) || returnType.isInterface()
+                || (type.isInterface() && !Modifier.isFinal(returnType.getModifiers()));
+    }
+
+    private static void checkType(String name, Class<?> beanType, Class<?> type) {
+        if (!type.isAssignableFrom(beanType)) {
+            throw new ClassCastException("bean[" + name + "]的类型是" + beanType.getName() + "，不是" + type.getName());
+        }
+    }
+
+    /**
+     * 从bean定义推断bean的类型：构造方法方式为bean类，工厂方法方式为同名工厂方法的返回类型(都相同时)
+     */
+    protected Class<?> predictBeanType(BeanDefinition bd) {
+        if (StringUtils.isBlank(bd.getFactoryMethodName())) {
+            return bd.getBeanClass();
+        }
+        Class<?> factoryClass = bd.getBeanClass();
+        if (factoryClass == null) {
+            BeanDefinition factoryBd = this.getBeanDefinition(bd.getFactoryBeanName());
+            factoryClass = factoryBd == null ? null : this.predictBeanType(factoryBd);
+        }
+        if (factoryClass == null) {
+            return null;
+        }
+        Class<?> returnType = null;
+        for (Method m : factoryClass.getMethods()) {
+            if (m.getName().equals(bd.getFactoryMethodName())) {
+                if (returnType != null && returnType != m.getReturnType()) {
+                    return null;
+                }
+                returnType = m.getReturnType();
+            }
+        }
+        return returnType;
+    }
+
     protected Object doGetBean(String beanName) throws Exception {
         Objects.requireNonNull(beanName, "beanName不能为空");
 
+        /** 冻结后先查只读索引 */
+        FrozenBeanIndex index = this.frozenIndex;
+        if (index != null) {
+            Object singleton = index.getSingleton(beanName);
+            if (singleton != null) {
+                return singleton;
+            }
+        }
+
         Object instance = beanMap.get(beanName);
 
         if (instance != null) {
@@ -85,201 +565,474 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
         Objects.requireNonNull(bd, "不存在name为：" + beanName + "的beean 定义！");
         Objects.requireNonNull(bd, "beanDefinition不能为空");
 
+        if (bd.isSingleton()) {
+            return this.getSingleton(beanName, bd);
+        }
+        if (bd.isPooled()) {
+            return this.getBeanPool(beanName, bd).borrow();
+        }
+        if (!bd.isPrototype()) {
+            Scope scope = this.scopes.get(bd.getScope());
+            if (scope != null) {
+                return scope.get(beanName, () -> this.createScopedBean(beanName, bd, scope));
+            }
+        }
+        return this.createBean(beanName, bd);
+    }
+
+    /**
+     * 解析属性上的bean引用：目标是尚未创建的延迟初始化单例且属性类型是它实现的接口时，返回JDK代理，
+     * 第一次调用代理的方法时才创建目标；其他情况直接获取bean
+     */
+    Object getLazyReference(String beanName, Class<?> propertyType) throws Exception {
+        Object instance = this.beanMap.get(beanName);
+        if (instance != null) {
+            return instance;
+        }
+        BeanDefinition bd = this.getBeanDefinition(beanName);
+        if (bd == null || !bd.isLazyInit() || !bd.isSingleton() || !propertyType.isInterface()) {
+            return this.doGetBean(beanName);
+        }
+        Object proxy = this.lazyProxies.get(beanName);
+        if (proxy == null) {
+            Class<?> beanType = this.predictBeanType(bd);
+            if (beanType == null || !propertyType.isAssignableFrom(beanType)) {
+                return this.doGetBean(beanName);
+            }
+            try {
+                proxy = LazyBeanProxy.create(this, beanName, beanType);
+            } catch (IllegalArgumentException e) {
+                // 接口对代理不可见等情况，不使用代理
+                logger.debug("bean[" + beanName + "]无法生成延迟代理，直接创建", e);
+                return this.doGetBean(beanName);
+            }
+            Object previous = this.lazyProxies.putIfAbsent(beanName, proxy);
+            proxy = previous != null ? previous : proxy;
+        }
+        return propertyType.isInstance(proxy) ? proxy : this.doGetBean(beanName);
+    }
+
+    /**
+     * 创建作用域中的bean，并把销毁方法登记为作用域的销毁回调
+     */
+    private Object createScopedBean(String beanName, BeanDefinition bd, Scope scope) throws Exception {
+        Object instance = this.createBean(beanName, bd);
+        if (StringUtils.isNotBlank(bd.getDestroyMethodName())) {
+            scope.registerDestructionCallback(beanName, () -> this.invokeDestroyMethod(beanName, bd, instance));
+        }
+        return instance;
+    }
+
+    private void invokeDestroyMethod(String beanName, BeanDefinition bd, Object instance) {
+        try {
+            Method m = instance.getClass().getMethod(bd.getDestroyMethodName());
+            m.invoke(instance);
+        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException e) {
+            logger.error("执行bean[" + beanName + "] " + bd + " 的 销毁方法异常！", e);
+        }
+    }
+
+    @Override
+    public Object borrowBean(String name) throws Exception {
+        return this.doGetBean(name);
+    }
+
+    @Override
+    public void releaseBean(String name, Object bean) throws Exception {
+        Objects.requireNonNull(name, "beanName不能为空");
+        if (bean == null) {
+            return;
+        }
+        BeanPool pool = this.beanPools.get(name);
+        if (pool == null) {
+            BeanDefinition bd = this.getBeanDefinition(name);
+            if (bd == null || !bd.isPooled()) {
+                throw new IllegalArgumentException("bean[" + name + "]不是池化bean，不能归还");
+            }
+            pool = this.getBeanPool(name, bd);
+        }
+        pool.release(bean);
+    }
+
+    /**
+     * 淘汰所有实例池中空闲过久的实例。归还时也会按间隔自动淘汰，这里供定时任务主动调用
+     */
+    public void evictIdleBeans() {
+        long now = System.nanoTime();
+        for (BeanPool pool : this.beanPools.values()) {
+            pool.evictIdle(now);
+        }
+    }
+
+    /**
+     * 池化bean的实例池，首次获取时补足最小空闲数
+     */
+    BeanPool getBeanPool(String beanName, BeanDefinition bd) throws Exception {
+        BeanPool pool = this.beanPools.get(beanName);
+        if (pool == null) {
+            // 不在computeIfAbsent里创建实例，实例的依赖可能也是池化bean
+            pool = this.beanPools.computeIfAbsent(beanName, name -> new BeanPool(name, bd, this));
+            pool.prefill();
+        }
+        return pool;
+    }
+
+    /**
+     * 获取单例，保证每个单例只被创建一次：
+     * 第一个线程登记创建记录并创建实例，其他线程阻塞等待该记录完成，不使用全局锁。
+     */
+    private Object getSingleton(String beanName, BeanDefinition bd) throws Exception {
+        SingletonCreation creation = new SingletonCreation(beanName, Thread.currentThread());
+        SingletonCreation existing = this.singletonsInCreation.putIfAbsent(beanName, creation);
+        if (existing != null) {
+            return this.awaitSingleton(beanName, existing);
+        }
+
+        try {
+            // 登记前可能已有其他线程创建完成
+            Object instance = beanMap.get(beanName);
+            if (instance == null) {
+                instance = this.createBean(beanName, bd);
+                // 先放入单例池再移除创建记录，保证其他线程总能看到其一
+                beanMap.put(beanName, instance);
+            }
+            creation.complete(instance);
+            return instance;
+        } catch (Exception | Error e) {
+            creation.fail(e);
+            throw e;
+        } finally {
+            this.singletonFactories.remove(beanName);
+            this.earlySingletonObjects.remove(beanName);
+            this.singletonsInCreation.remove(beanName, creation);
+        }
+    }
+
+    /**
+     * 等待其他线程创建单例。
+     * 本线程正在创建的单例再次被请求时，返回提前暴露的引用；还在构造阶段(没有提前暴露)则是构造循环依赖。
+     * 跨线程的循环依赖中，环上有线程等待的bean已提前暴露时，唤醒它用提前暴露的引用走出环，本线程继续等待；
+     * 环上没有线程能继续时才报错
+     */
+    private Object awaitSingleton(String beanName, SingletonCreation creation) throws Exception {
+        Thread current = Thread.currentThread();
+        if (creation.owner == current) {
+            Object early = this.getEarlySingleton(beanName);
+            if (early == null) {
+                throw new BeanCurrentlyInCreationException(beanName + " 构造循环依赖！" + this.cyclePath(beanName));
+            }
+            return early;
+        }
+
+        // 先登记等待关系再检查，两个互相等待的线程至少有一个能发现环
+        this.waitingCreations.put(current, creation);
+        try {
+            while (true) {
+                int seen = creation.getNudges();
+                Object early = this.checkCrossThreadCycle(beanName, creation, current);
+                if (early != null) {
+                    return early;
+                }
+                // 完成，或被环上的其他线程唤醒后重新检查
+                if (creation.await(seen)) {
+                    return creation.get(beanName);
+                }
+            }
+        } finally {
+            this.waitingCreations.remove(current);
+        }
+    }
+
+    /**
+     * 沿等待关系检查是否回到本线程
+     *
+     * @return 成环且本线程等待的bean已提前暴露时返回提前暴露的引用，否则返回null
+     * @throws BeanCurrentlyInCreationException 成环且环上没有线程能用提前暴露的引用继续
+     */
+    private Object checkCrossThreadCycle(String beanName, SingletonCreation creation, Thread current)
+            throws Exception {
+        List<SingletonCreation> chain = new ArrayList<>();
+        Set<Thread> owners = new HashSet<>();
+        for (SingletonCreation c = creation; c != null && !c.isDone(); c = this.waitingCreations.get(c.owner)) {
+            chain.add(c);
+            if (c.owner == current) {
+                // 跨线程的属性循环依赖，同单线程一样使用提前暴露的引用
+                Object early = this.getEarlySingleton(beanName);
+                if (early != null) {
+                    return early;
+                }
+                boolean progress = false;
+                for (int i = 1; i < chain.size(); i++) {
+                    SingletonCreation waited = chain.get(i);
+                    if (this.earlySingletonObjects.containsKey(waited.beanName)
+                            || this.singletonFactories.containsKey(waited.beanName)) {
+                        waited.nudge();
+                        progress = true;
+                    }
+                }
+                if (!progress) {
+                    throw new BeanCurrentlyInCreationException(
+                            beanName + " 跨线程循环依赖！" + this.cyclePath(beanName));
+                }
+                return null;
+            }
+            if (!owners.add(c.owner)) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取提前暴露的单例引用：先查二级缓存，再由三级缓存的工厂生成并移入二级缓存
+     */
+    private Object getEarlySingleton(String beanName) throws Exception {
+        Object early = this.earlySingletonObjects.get(beanName);
+        if (early != null) {
+            return early;
+        }
+        ObjectFactory<?> factory = this.singletonFactories.remove(beanName);
+        if (factory == null) {
+            return this.earlySingletonObjects.get(beanName);
+        }
+        early = factory.getObject();
+        Object previous = this.earlySingletonObjects.putIfAbsent(beanName, early);
+        return previous != null ? previous : early;
+    }
+
+    /**
+     * 提前暴露的bean引用，子类可在此包装实例
+     */
+    protected Object getEarlyBeanReference(String beanName, BeanDefinition bd, Object instance) {
+        return instance;
+    }
+
+    /**
+     * 当前线程的循环依赖路径，如 a -> b -> a
+     */
+    private String cyclePath(String beanName) {
+        StringBuilder path = new StringBuilder();
+        boolean inCycle = false;
+        for (String name : this.currentBuildingBeans()) {
+            inCycle = inCycle || name.equals(beanName);
+            if (inCycle) {
+                path.append(name).append(" -> ");
+            }
+        }
+        return path.append(beanName).toString();
+    }
+
+    private Set<String> currentBuildingBeans() {
+        Set<String> ingBeans = this.buildingBeans.get();
+        return ingBeans == null ? new HashSet<>() : ingBeans;
+    }
+
+    /**
+     * 创建bean实例：构造、属性依赖、初始化
+     */
+    protected Object createBean(String beanName, BeanDefinition bd) throws Exception {
         // 记录正在创建的Bean
         Set<String> ingBeans = this.buildingBeans.get();
         if (ingBeans == null) {
-            ingBeans = new HashSet<>();
+            ingBeans = new LinkedHashSet<>();
             this.buildingBeans.set(ingBeans);
         }
 
         // 检测循环依赖
         if (ingBeans.contains(beanName)) {
-            throw new Exception(beanName + " 循环依赖！" + ingBeans);
+            throw new BeanCurrentlyInCreationException(beanName + " 循环依赖！" + this.cyclePath(beanName));
         }
 
         // 记录正在创建的Bean
         ingBeans.add(beanName);
 
-        /** 获取创建的bean */
-        Class<?> type = bd.getBeanClass();
-        if (type != null) {
-            if (StringUtils.isBlank(bd.getFactoryMethodName())) {
-                // 构造方法来构造对象
-                instance = this.createInstanceByConstructor(bd);
+        BeanFactoryMetrics metrics = this.metrics;
+        boolean timed = metrics.isEnabled();
+        long[] nested = timed ? this.nestedCreationNanos.get() : null;
+        long outerNested = 0L;
+        long begin = 0L;
+        if (timed) {
+            outerNested = nested[0];
+            nested[0] = 0L;
+            begin = System.nanoTime();
+        }
+        try {
+            long start = begin;
+            long seenNested = 0L;
+            Object instance;
+            /** 获取创建的bean */
+            Class<?> type = bd.getBeanClass();
+            if (type != null) {
+                if (StringUtils.isBlank(bd.getFactoryMethodName())) {
+                    // 构造方法来构造对象
+                    instance = this.createInstanceByConstructor(bd);
+                } else {
+                    // 静态工厂方法
+                    instance = this.createInstanceByStaticFactoryMethod(bd);
+                }
             } else {
-                // 静态工厂方法
-                instance = this.createInstanceByStaticFactoryMethod(bd);
+                // 工厂bean方式来构造对象
+                instance = this.createInstanceByFactoryBean(bd);
+            }
+            if (timed) {
+                long now = System.nanoTime();
+                metrics.recordConstruction(beanName, now - start - (nested[0] - seenNested));
+                seenNested = nested[0];
+                start = now;
             }
-        } else {
-            // 工厂bean方式来构造对象
-            instance = this.createInstanceByFactoryBean(bd);
-        }
 
-        // 创建好实例后，移除创建中记录
-        ingBeans.remove(beanName);
-        /** 属性依赖*/
-        setPropertyDIValues(bd, instance);
+            if (bd.isSingleton()) {
+                // 单例构造完成后即移除创建中记录并提前暴露，属性循环依赖可以拿到该引用
+                ingBeans.remove(beanName);
+                final Object bean = instance;
+                this.singletonFactories.put(beanName, () -> this.getEarlyBeanReference(beanName, bd, bean));
+            }
 
-        // 执行初始化方法
-        this.doInit(bd, instance);
+            /** 属性依赖*/
+            setPropertyDIValues(bd, instance);
+            if (timed) {
+                long now = System.nanoTime();
+                metrics.recordInjection(beanName, now - start - (nested[0] - seenNested));
+                seenNested = nested[0];
+                start = now;
+            }
 
-        if (bd.isSingleton()) {
-            beanMap.put(beanName, instance);
-        }
+            // 执行初始化方法
+            if (bd.isAsyncInit() && bd.isSingleton() && StringUtils.isNotBlank(bd.getInitMethodName())) {
+                this.submitAsyncInit(beanName, bd, instance);
+            } else {
+                this.doInit(bd, instance);
+                if (timed) {
+                    metrics.recordInit(beanName, System.nanoTime() - start - (nested[0] - seenNested));
+                }
+            }
 
-        return instance;
+            return instance;
+        } finally {
+            // 原型bean直到创建完成才移除创建中记录，原型之间的任何循环依赖都会被检测到
+            ingBeans.remove(beanName);
+            if (timed) {
+                // 本bean的全部耗时计入外层bean的嵌套耗时
+                nested[0] = outerNested + (System.nanoTime() - begin);
+            }
+        }
     }
 
     // 构造方法来构造对象
-    private Object createInstanceByConstructor(BeanDefinition bd)
-            throws InstantiationException, IllegalAccessException, Exception {
+    private Object createInstanceByConstructor(BeanDefinition bd) throws Exception {
         try {
             /*判断构造函数*/
             Object[] args = getConstructorArgumentValues(bd);
+            BeanInstantiator bi = bd.getInstantiator();
             if (args == null) {
-                return bd.getBeanClass().newInstance();
+                if (bi == null || bi.getConstructor().getParameterCount() != 0) {
+                    bi = this.instantiationStrategy.instantiator(bd.getBeanClass().getDeclaredConstructor());
+                    bd.setInstantiator(bi);
+                }
             } else {
-                return determineConstructor(bd, args).newInstance(args);
+                /** 自动装配计划已选定构造方法时直接使用 */
+                AutowirePlan autowirePlan = this.getAutowirePlan(bd);
+                Constructor<?> ct = autowirePlan == null ? null : autowirePlan.getConstructor();
+                if (ct == null) {
+                    ct = determineConstructor(bd, args);
+                } else if (bd.getConstructor() == null || !bd.getConstructor().equals(ct)) {
+                    bd.setConstructor(ct);
+                }
+                this.convertArguments(bd, ct, args);
+                if (bi == null || bi.getConstructor() != ct) {
+                    bi = this.instantiationStrategy.instantiator(ct);
+                    bd.setInstantiator(bi);
+                }
             }
-
+            return bi.newInstance(args);
         } catch (SecurityException e1) {
             logger.error("创建bean的实例异常,beanDefinition：" + bd, e1);
             throw e1;
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e, "创建bean的实例异常,beanDefinition：" + bd);
         }
     }
 
     /**
-     * 获取构造器
+     * 获取构造器，解析结果按实参类型签名缓存在bean定义上
      * @param bd
      * @param args
      * @return
      * @throws Exception
      */
     private Constructor<?> determineConstructor(BeanDefinition bd, Object[] args) throws Exception {
-        Constructor<?> ct = null;
-
-        if (null == args) {
-            return bd.getBeanClass().getConstructor(null);
-        }
-
-        /** 对于原型bean，从第二次开始获取bean实例时，可直接获取第一次缓存的构造器 */
-        ct = bd.getConstructor();
+        args = this.unconvertedArguments(bd, args);
+        ArgumentSignature signature = ArgumentSignature.of(bd.getBeanClass(), args);
+        Constructor<?> ct = (Constructor<?>) bd.getResolvedExecutable(signature);
         if (null != ct) {
             return ct;
         }
 
-        /** 根据参数类型获取精确匹配的构造方法 */
-        Class<?> [] paramTypes = new Class[args.length];
-        int j = 0;
-        for (Object p :  args) {
-            paramTypes[j++] = p.getClass();
-        }
-        try {
-            ct = bd.getBeanClass().getConstructor(paramTypes);
-        } catch (Exception e) {
-
-        }
-
-        /**
-         * 没有精确参数类型匹配，则遍历匹配所有构造方法
-         * 先判断参数数量，然后比对参数类型
-         */
+        /** 在所有构造方法中选出与实参最匹配的 */
+        Object[] actual = args == null ? new Object[0] : args;
+        ct = ExecutableResolver.mostSpecific(bd.getBeanClass().getConstructors(), actual);
         if (null == ct) {
-            outer:
-            for (Constructor<?> ct0 : bd.getBeanClass().getConstructors()) {
-                Class<?>[] paramterTypes = ct0.getParameterTypes();
-                if (paramterTypes.length == args.length) {
-                    for (int i = 0; i < paramterTypes.length; i++) {
-                        if(!paramterTypes[i].isAssignableFrom(args[i].getClass())) {
-                            continue outer;
-                        }
-                    }
-                    ct = ct0;
-                    break ;
-                }
-            }
+            /** 没有直接匹配的，再找字面值经类型转换后能匹配的 */
+            ct = ExecutableResolver.convertible(bd.getBeanClass().getConstructors(), actual, this.conversionService);
         }
-
-        if (null != ct) {
-            /**
-             * 缓存 构造器
-             */
-            if (bd.isPrototype()) {
-                bd.setConstructor(ct);
-            }
-        } else {
+        if (null == ct) {
             throw new RuntimeException("不存在对应的构造方法！" + bd);
         }
 
+        bd.cacheResolvedExecutable(signature, ct);
+        bd.setConstructor(ct);
         return ct;
     }
 
     private Method determineFactoryMethod(BeanDefinition bd, Object[] args, Class<?> type) throws Exception {
-        Method method = null;
         if (null == type) {
             type = bd.getBeanClass();
         }
 
-        String methodName = bd.getFactoryMethodName();
-
-        if (null == args) {
-            return type.getMethod(methodName, null);
-        }
-
-        method = bd.getFactoryMethod();
-
+        args = this.unconvertedArguments(bd, args);
+        ArgumentSignature signature = ArgumentSignature.of(type, args);
+        Method method = (Method) bd.getResolvedExecutable(signature);
         if (null != method) {
             return method;
         }
 
-        /** 根据参数类型获取精确匹配的方法*/
-        Class [] paramTypes = new Class[args.length];
-
-        int j = 0;
-        for (Object object : args) {
-            paramTypes[j++] = object.getClass();
+        /** 在同名方法中选出与实参最匹配的 */
+        String methodName = bd.getFactoryMethodName();
+        List<Method> candidates = new ArrayList<>();
+        for (Method m : type.getMethods()) {
+            if (m.getName().equals(methodName)) {
+                candidates.add(m);
+            }
         }
-
-        try {
-            method = type.getMethod(methodName, paramTypes);
-        } catch (Exception e) {
-
+        Object[] actual = args == null ? new Object[0] : args;
+        method = ExecutableResolver.mostSpecific(candidates.toArray(new Method[0]), actual);
+        if (null == method) {
+            method = ExecutableResolver.convertible(candidates.toArray(new Method[0]), actual, this.conversionService);
         }
-
-        /** 如果没有找到，开始遍历查找*/
         if (null == method) {
-            outer:
-            for (Method method1 : type.getMethods()) {
-                if (!method1.getName().equals(methodName)){
-                    continue;
-                }
-                Class<?> [] paramterTypes = method1.getParameterTypes();
-
-                if (paramterTypes.length == args.length) {
-                    for (int i = 0; i < paramterTypes.length; i++) {
-                        if (!paramterTypes[i].isAssignableFrom(args[i].getClass())) {
-                            continue outer;
-                        }
-                    }
-                    method = method1;
-                    break outer;
-                }
-            }
+            throw new Exception("不存在对应的工厂方法！" + bd);
         }
 
-        if (null != method) {
-            if (bd.isPrototype()) {
-                bd.setFactoryMethod(method);
-            }
-        } else {
-            throw new Exception("不存在对应的构造方法！" + bd);
-        }
+        bd.cacheResolvedExecutable(signature, method);
+        bd.setFactoryMethod(method);
         return method;
     }
 
+    /**
+     * 参数计划已绑定方法后解析出的字面值是转换后的值，选择方法和缓存都改用转换前的值，
+     * 否则转换后的实参可能匹配到另一个重载
+     */
+    private Object[] unconvertedArguments(BeanDefinition bd, Object[] args) {
+        ArgumentPlan plan = bd.getArgumentPlan();
+        return args == null || plan == null ? args : plan.unconverted(args);
+    }
+
     private Object[] getConstructorArgumentValues(BeanDefinition bd) throws Exception {
 
-        return this.getRealValues(bd.getConstructorArgumentValues());
+        return this.getRealValues(bd);
 
     }
 
@@ -291,66 +1044,63 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
      */
     private void setPropertyDIValues(BeanDefinition bd, Object instance) throws Exception {
         /** 如果没有属性*/
-        if (CollectionUtils.isEmpty(bd.getPropertyValues())) {
+        AutowirePlan autowirePlan = this.getAutowirePlan(bd);
+        List<PropertyValue> pvs = autowirePlan == null ? bd.getPropertyValues() : autowirePlan.getPropertyValues();
+        if (CollectionUtils.isEmpty(pvs)) {
             return;
         }
-        for (PropertyValue pv : bd.getPropertyValues()) {
-            if(StringUtils.isBlank(pv.getName())) {
-                continue;
-            }
-            Class<?> clazz = instance.getClass();
-
-            Field field = clazz.getDeclaredField(pv.getName());
-
-            field.setAccessible(Boolean.TRUE);
-
-            Object rv = pv.getValue();
-            Object v = getReferenceObject(rv);
-            field.set(instance, v);
-        }
-    }
 
-    private Object getReferenceObject(Object rv) throws Exception {
-        Object v = null;
-        if (rv == null) {
-            v = null;
-        } else if (rv instanceof BeanReference) {
-            v = this.doGetBean(((BeanReference) rv).getBeanName());
-        } else if (rv instanceof Object[]) {
-            // TODO 处理集合中的bean引用
-        } else if (rv instanceof Collection) {
-            // TODO 处理集合中的bean引用
-        } else if (rv instanceof Properties) {
-            // TODO 处理properties中的bean引用
-        } else if (rv instanceof Map) {
-            // TODO 处理Map中的bean引用
-        } else {
-            v = rv;
+        /** 注入计划只构建一次，bean定义变化后重建 */
+        InjectionPlan plan = bd.getInjectionPlan();
+        if (plan == null || !plan.isValidFor(instance.getClass(), pvs)) {
+            plan = InjectionPlan.build(instance.getClass(), pvs, this.conversionService);
+            bd.setInjectionPlan(plan);
         }
-        return v;
+        plan.inject(instance, this);
     }
 
-    private Object[] getRealValues(List<?> defs) throws Exception {
+    /**
+     * 解析构造参数，参数的解析计划缓存在bean定义上
+     */
+    private Object[] getRealValues(BeanDefinition bd) throws Exception {
+        AutowirePlan autowirePlan = this.getAutowirePlan(bd);
+        List<?> defs = autowirePlan == null ? bd.getConstructorArgumentValues()
+                : autowirePlan.getConstructorArgumentValues();
         if(CollectionUtils.isEmpty(defs)) {
             return null;
         }
 
-        Object [] values = new Object[defs.size()];
-
-        int i = 0;
+        ArgumentPlan plan = bd.getArgumentPlan();
+        if (plan == null || !plan.isValidFor(defs)) {
+            plan = ArgumentPlan.build(defs);
+            bd.setArgumentPlan(plan);
+        }
+        return plan.resolve(this);
+    }
 
-        for (Object vt : defs) {
-            Object v = getReferenceObject(vt);
-            values[i++] = v;
+    /**
+     * 把字面值参数转换为选定方法的形参类型。转换结果绑定到参数计划上，同一方法之后再解析的参数已是转换后的值
+     *
+     * @param bd bean定义
+     * @param executable 选定的构造方法或工厂方法
+     * @param args 已解析的实参，字面值位置被替换
+     */
+    private void convertArguments(BeanDefinition bd, Executable executable, Object[] args) {
+        ArgumentPlan plan = bd.getArgumentPlan();
+        if (args == null || plan == null || executable.equals(plan.getTarget())) {
+            return;
         }
-        return values;
+        plan = plan.convert(executable, this.conversionService);
+        bd.setArgumentPlan(plan);
+        plan.applyConstants(args);
     }
 
     // 静态工厂方法
     private Object createInstanceByStaticFactoryMethod(BeanDefinition bd) throws Exception {
         Class<?> type = bd.getBeanClass();
-        Object[] realArgs = this.getRealValues(bd.getConstructorArgumentValues());
+        Object[] realArgs = this.getRealValues(bd);
         Method m = this.determineFactoryMethod(bd, realArgs, null);
+        this.convertArguments(bd, m, realArgs);
         return m.invoke(type, realArgs);
     }
 
@@ -358,8 +1108,9 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
     private Object createInstanceByFactoryBean(BeanDefinition bd) throws Exception {
 
         Object factoryBean = this.doGetBean(bd.getFactoryBeanName());
-        Object [] realArgs = getRealValues((bd.getConstructorArgumentValues()));
+        Object [] realArgs = getRealValues(bd);
         Method m = determineFactoryMethod(bd, realArgs, factoryBean.getClass());
+        this.convertArguments(bd, m, realArgs);
 
         return m.invoke(factoryBean, realArgs);
     }
@@ -379,23 +1130,240 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
         }
     }
 
+    /**
+     * 在线程池中执行初始化方法，完成后移除记录，失败的记录保留到屏障处报告
+     */
+    private void submitAsyncInit(String beanName, BeanDefinition bd, Object instance) {
+        BeanFactoryMetrics metrics = this.metrics;
+        AsyncInit init = new AsyncInit(bd.getInitTimeoutMillis());
+        this.pendingInits.put(beanName, init);
+        try {
+            this.initExecutor.execute(() -> {
+                try {
+                    long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+                    this.doInit(bd, instance);
+                    if (metrics.isEnabled()) {
+                        metrics.recordInit(beanName, System.nanoTime() - start);
+                    }
+                    this.pendingInits.remove(beanName, init);
+                    init.future.complete(null);
+                } catch (Throwable e) {
+                    init.future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            this.pendingInits.remove(beanName, init);
+            throw e;
+        }
+    }
+
+    /**
+     * 获取bean并等待它的异步初始化完成
+     */
+    public Object getReadyBean(String name) throws Exception {
+        Object bean = this.doGetBean(name);
+        this.awaitInit(name);
+        return bean;
+    }
+
+    /**
+     * 启动屏障：等待所有未完成的异步初始化，任何一个失败或超时都抛出异常
+     */
+    public void awaitPendingInits() throws Exception {
+        for (String name : new ArrayList<>(this.pendingInits.keySet())) {
+            this.awaitInit(name);
+        }
+    }
+
+    private void awaitInit(String beanName) throws Exception {
+        AsyncInit init = this.pendingInits.get(beanName);
+        if (init == null) {
+            return;
+        }
+        try {
+            if (!init.timed) {
+                init.future.get();
+            } else {
+                init.future.get(Math.max(init.deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            throw new BeanCreationException("bean[" + beanName + "]的异步初始化超时未完成", e);
+        } catch (ExecutionException e) {
+            throw new BeanCreationException("bean[" + beanName + "]的异步初始化失败", e.getCause());
+        }
+    }
+
+    /**
+     * 登记需要在工厂关闭时销毁的原型或池化bean实例，关闭时执行其bean定义的销毁方法
+     */
+    public void registerDisposableBean(String beanName, Object bean) {
+        Objects.requireNonNull(beanName, "beanName不能为空");
+        Objects.requireNonNull(bean, "bean不能为空");
+        BeanDefinition bd = this.getBeanDefinition(beanName);
+        if (bd == null || StringUtils.isBlank(bd.getDestroyMethodName())) {
+            throw new IllegalArgumentException("bean[" + beanName + "]没有定义销毁方法");
+        }
+        this.disposableBeans.add(new DisposableBean(beanName, bd, bean));
+    }
+
+    public void setDestroyExecutor(Executor destroyExecutor) {
+        this.destroyExecutor = Objects.requireNonNull(destroyExecutor, "destroyExecutor不能为空");
+    }
+
+    public void setCloseTimeoutMillis(long closeTimeoutMillis) {
+        this.closeTimeoutMillis = closeTimeoutMillis;
+    }
+
+    /**
+     * 关闭工厂：先销毁作用域、实例池和登记的原型实例(它们可能使用单例)，再按依赖的逆序销毁已创建的单例，
+     * 互不依赖的销毁并行执行。超过关闭超时时间后不再等待，未销毁的bean记录错误日志
+     */
     @Override
     public void close() throws IOException {
-        // 执行单例实例的销毁方法
-        for (Entry<String, BeanDefinition> e : this.beanDefintionMap.entrySet()) {
-            String beanName = e.getKey();
-            BeanDefinition bd = e.getValue();
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.closeTimeoutMillis);
+        BeanDestroyer destroyer = new BeanDestroyer(this.destroyExecutor, deadline);
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (Scope scope : this.scopes.values()) {
+            tasks.add(scope::destroy);
+        }
+        for (BeanPool pool : this.beanPools.values()) {
+            tasks.add(pool::close);
+        }
+        DisposableBean disposable;
+        while ((disposable = this.disposableBeans.poll()) != null) {
+            DisposableBean d = disposable;
+            tasks.add(() -> this.invokeDestroyMethod(d.beanName, d.bd, d.bean));
+        }
+        boolean completed = destroyer.runAll(tasks);
 
-            if (bd.isSingleton() && StringUtils.isNotBlank(bd.getDestroyMethodName())) {
+        if (completed) {
+            // 只销毁已创建的单例
+            BeanDependencyGraph graph = BeanDependencyGraph.build(this, new ArrayList<>(this.beanMap.keySet()));
+            completed = destroyer.runInReverseOrder(graph, beanName -> {
                 Object instance = this.beanMap.get(beanName);
-                try {
-                    Method m = instance.getClass().getMethod(bd.getDestroyMethodName(), null);
-                    m.invoke(instance, null);
-                } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
-                        | InvocationTargetException e1) {
-                    logger.error("执行bean[" + beanName + "] " + bd + " 的 销毁方法异常！", e1);
+                BeanDefinition bd = this.getBeanDefinition(beanName);
+                if (instance != null && bd != null && StringUtils.isNotBlank(bd.getDestroyMethodName())) {
+                    this.invokeDestroyMethod(beanName, bd, instance);
                 }
+            });
+        }
+        if (!completed) {
+            logger.error("关闭bean工厂超过" + this.closeTimeoutMillis + "毫秒，部分bean未完成销毁！");
+        }
+    }
+
+    /**
+     * 登记在关闭时销毁的实例
+     */
+    private static final class DisposableBean {
+
+        private final String beanName;
+
+        private final BeanDefinition bd;
+
+        private final Object bean;
+
+        DisposableBean(String beanName, BeanDefinition bd, Object bean) {
+            this.beanName = beanName;
+            this.bd = bd;
+            this.bean = bean;
+        }
+    }
+
+    /**
+     * 一个异步初始化：完成信号和截止时间
+     */
+    private static final class AsyncInit {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * 是否有超时时间
+         */
+        private final boolean timed;
+
+        /**
+         * 截止时间(System.nanoTime)
+         */
+        private final long deadline;
+
+        AsyncInit(long timeoutMillis) {
+            this.timed = timeoutMillis > 0;
+            this.deadline = this.timed ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0L;
+        }
+    }
+
+    /**
+     * 单例的创建记录，等待的线程阻塞在记录的监视器上，完成或被唤醒重新检查循环依赖时返回
+     */
+    private static final class SingletonCreation {
+
+        private final String beanName;
+
+        private final Thread owner;
+
+        private volatile boolean done;
+
+        private volatile Object instance;
+
+        private volatile Throwable failure;
+
+        private int nudges;
+
+        SingletonCreation(String beanName, Thread owner) {
+            this.beanName = beanName;
+            this.owner = owner;
+        }
+
+        synchronized void complete(Object instance) {
+            this.instance = instance;
+            this.done = true;
+            this.notifyAll();
+        }
+
+        synchronized void fail(Throwable failure) {
+            this.failure = failure;
+            this.done = true;
+            this.notifyAll();
+        }
+
+        boolean isDone() {
+            return this.done;
+        }
+
+        synchronized int getNudges() {
+            return this.nudges;
+        }
+
+        /**
+         * 唤醒等待的线程重新检查循环依赖
+         */
+        synchronized void nudge() {
+            this.nudges++;
+            this.notifyAll();
+        }
+
+        /**
+         * 等待完成，或在seen之后被唤醒
+         *
+         * @return 是否已完成
+         */
+        synchronized boolean await(int seen) throws InterruptedException {
+            while (!this.done && this.nudges == seen) {
+                this.wait();
+            }
+            return this.done;
+        }
+
+        Object get(String beanName) throws Exception {
+            if (this.failure != null) {
+                throw new Exception("其他线程创建bean[" + beanName + "]失败", this.failure);
             }
+            return this.instance;
         }
     }
 }
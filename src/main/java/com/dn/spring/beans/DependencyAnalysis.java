@@ -0,0 +1,81 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：DependencyAnalysis.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description: {@link BeanGraphAnalyzer} 的分析结果.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class DependencyAnalysis {
+
+    private final List<List<String>> cycles;
+
+    private final Map<String, Integer> depths;
+
+    private final List<String> criticalPath;
+
+    private final long criticalPathCost;
+
+    DependencyAnalysis(List<List<String>> cycles, Map<String, Integer> depths, List<String> criticalPath,
+            long criticalPathCost) {
+        this.cycles = Collections.unmodifiableList(cycles);
+        this.depths = Collections.unmodifiableMap(depths);
+        this.criticalPath = Collections.unmodifiableList(criticalPath);
+        this.criticalPathCost = criticalPathCost;
+    }
+
+    /**
+     * 所有循环依赖，每个元素是一个强连通分量中的bean
+     */
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    public boolean hasCycles() {
+        return !cycles.isEmpty();
+    }
+
+    /**
+     * bean的依赖深度：不依赖其他bean为0，否则为所依赖bean的最大深度加1，同一循环中的bean深度相同
+     */
+    public int getDepth(String beanName) {
+        Integer depth = depths.get(beanName);
+        return depth == null ? -1 : depth;
+    }
+
+    public int getMaxDepth() {
+        int max = 0;
+        for (int depth : depths.values()) {
+            max = Math.max(max, depth);
+        }
+        return max;
+    }
+
+    /**
+     * 启动关键路径：耗时之和最大的依赖链，从最上层的bean到最底层被依赖的bean
+     */
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public long getCriticalPathCost() {
+        return criticalPathCost;
+    }
+
+    @Override
+    public String toString() {
+        return "DependencyAnalysis [cycles=" + cycles + ", maxDepth=" + getMaxDepth() + ", criticalPath="
+                + criticalPath + ", criticalPathCost=" + criticalPathCost + "]";
+    }
+}
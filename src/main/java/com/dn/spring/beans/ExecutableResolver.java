@@ -0,0 +1,206 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ExecutableResolver.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Executable;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dn.spring.beans.convert.ConversionService;
+
+/**
+ * Description: 按实参选择最匹配的构造方法或工厂方法.
+ * <p>
+ * 每个参数按匹配代价计分：类型相同为0，父类每上一层加1，实现的接口比声明它的类多1，
+ * 拆箱加1，基本类型拓宽再加1；null实参匹配任意引用类型。总分最低者胜出，
+ * 同分时取参数类型更具体的，再相同则按方法签名字符串排序，保证结果确定。
+ * 没有直接匹配的时，再找实参都能经类型转换传入的，需要转换的参数最少者胜出。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class ExecutableResolver {
+
+    private static final int NO_MATCH = -1;
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = new HashMap<>(16);
+
+    /**
+     * 基本类型拓宽顺序
+     */
+    private static final Map<Class<?>, Integer> WIDENING_RANK = new HashMap<>(16);
+
+    static {
+        PRIMITIVES.put(Boolean.class, boolean.class);
+        PRIMITIVES.put(Character.class, char.class);
+        PRIMITIVES.put(Byte.class, byte.class);
+        PRIMITIVES.put(Short.class, short.class);
+        PRIMITIVES.put(Integer.class, int.class);
+        PRIMITIVES.put(Long.class, long.class);
+        PRIMITIVES.put(Float.class, float.class);
+        PRIMITIVES.put(Double.class, double.class);
+
+        WIDENING_RANK.put(byte.class, 1);
+        WIDENING_RANK.put(short.class, 2);
+        WIDENING_RANK.put(char.class, 2);
+        WIDENING_RANK.put(int.class, 3);
+        WIDENING_RANK.put(long.class, 4);
+        WIDENING_RANK.put(float.class, 5);
+        WIDENING_RANK.put(double.class, 6);
+    }
+
+    private ExecutableResolver() {
+    }
+
+    /**
+     * 从候选中选出与实参最匹配的一个
+     *
+     * @param candidates 候选构造方法或方法
+     * @param args 实参，可以包含null
+     * @return 最匹配的，没有可用的返回null
+     */
+    public static <T extends Executable> T mostSpecific(T[] candidates, Object[] args) {
+        T best = null;
+        int bestWeight = Integer.MAX_VALUE;
+        for (T candidate : candidates) {
+            if (candidate.getParameterCount() != args.length) {
+                continue;
+            }
+            int weight = weight(candidate.getParameterTypes(), args);
+            if (weight == NO_MATCH) {
+                continue;
+            }
+            if (best == null || weight < bestWeight
+                    || (weight == bestWeight && preferred(candidate, best))) {
+                best = candidate;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 从候选中选出实参能经类型转换传入的一个，在 {@link #mostSpecific} 找不到时使用
+     *
+     * @param candidates 候选构造方法或方法
+     * @param args 实参，可以包含null
+     * @param conversionService 类型转换
+     * @return 需要转换的参数最少的，没有可用的返回null
+     */
+    public static <T extends Executable> T convertible(T[] candidates, Object[] args,
+            ConversionService conversionService) {
+        T best = null;
+        int bestConversions = Integer.MAX_VALUE;
+        for (T candidate : candidates) {
+            if (candidate.getParameterCount() != args.length) {
+                continue;
+            }
+            int conversions = conversions(candidate.getParameterTypes(), args, conversionService);
+            if (conversions == NO_MATCH) {
+                continue;
+            }
+            if (best == null || conversions < bestConversions
+                    || (conversions == bestConversions && preferred(candidate, best))) {
+                best = candidate;
+                bestConversions = conversions;
+            }
+        }
+        return best;
+    }
+
+    private static int conversions(Class<?>[] paramTypes, Object[] args, ConversionService conversionService) {
+        int conversions = 0;
+        for (int i = 0; i < paramTypes.length; i++) {
+            if (weight(paramTypes[i], args[i]) != NO_MATCH) {
+                continue;
+            }
+            if (args[i] == null || !conversionService.canConvert(args[i].getClass(), paramTypes[i])) {
+                return NO_MATCH;
+            }
+            conversions++;
+        }
+        return conversions;
+    }
+
+    private static int weight(Class<?>[] paramTypes, Object[] args) {
+        int weight = 0;
+        for (int i = 0; i < paramTypes.length; i++) {
+            int w = weight(paramTypes[i], args[i]);
+            if (w == NO_MATCH) {
+                return NO_MATCH;
+            }
+            weight += w;
+        }
+        return weight;
+    }
+
+    private static int weight(Class<?> paramType, Object arg) {
+        if (arg == null) {
+            return paramType.isPrimitive() ? NO_MATCH : 0;
+        }
+        Class<?> argType = arg.getClass();
+        if (paramType.isPrimitive()) {
+            Class<?> primitive = PRIMITIVES.get(argType);
+            if (primitive == null) {
+                return NO_MATCH;
+            }
+            if (primitive == paramType) {
+                return 1;
+            }
+            return isWidening(primitive, paramType) ? 2 : NO_MATCH;
+        }
+        return distance(argType, paramType);
+    }
+
+    private static boolean isWidening(Class<?> from, Class<?> to) {
+        if (from == boolean.class || to == boolean.class || to == char.class) {
+            return false;
+        }
+        if (from == char.class && (to == byte.class || to == short.class)) {
+            return false;
+        }
+        return WIDENING_RANK.get(from) < WIDENING_RANK.get(to);
+    }
+
+    /**
+     * 实参类型到形参类型的继承距离
+     */
+    private static int distance(Class<?> argType, Class<?> paramType) {
+        if (!paramType.isAssignableFrom(argType)) {
+            return NO_MATCH;
+        }
+        int d = 0;
+        for (Class<?> c = argType; c != null; c = c.getSuperclass(), d++) {
+            if (c == paramType) {
+                return d;
+            }
+            if (paramType.isInterface() && (c.getSuperclass() == null || !paramType.isAssignableFrom(c.getSuperclass()))) {
+                return d + 1;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * 同分时a是否优先于b：a的每个参数类型都可赋给b的对应参数类型
+     */
+    private static boolean preferred(Executable a, Executable b) {
+        Class<?>[] pa = a.getParameterTypes();
+        Class<?>[] pb = b.getParameterTypes();
+        boolean aMoreSpecific = true;
+        boolean bMoreSpecific = true;
+        for (int i = 0; i < pa.length; i++) {
+            aMoreSpecific &= pb[i].isAssignableFrom(pa[i]);
+            bMoreSpecific &= pa[i].isAssignableFrom(pb[i]);
+        }
+        if (aMoreSpecific != bMoreSpecific) {
+            return aMoreSpecific;
+        }
+        return a.toGenericString().compareTo(b.toGenericString()) < 0;
+    }
+}
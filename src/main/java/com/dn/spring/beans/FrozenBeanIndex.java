@@ -0,0 +1,131 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：FrozenBeanIndex.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.Map;
+
+/**
+ * Description: 冻结后的只读bean索引.
+ * <p>
+ * 开放寻址的散列表，冻结时尝试不同的表大小以找到无冲突的布局(完美散列)，找不到时退化为线性探测。
+ * 名字和单例交替存放在同一个数组中，一次查找通常只访问一个缓存行。所有字段都是final，发布后无需volatile读。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class FrozenBeanIndex {
+
+    private static final int MAX_GROWTH = 8;
+
+    /**
+     * [name0, singleton0, name1, singleton1, ...]
+     */
+    private final Object[] table;
+
+    private final BeanDefinition[] definitions;
+
+    private final int mask;
+
+    private final int shift;
+
+    private final boolean perfect;
+
+    /**
+     * @param definitions 注册的bean定义
+     * @param singletons 冻结时已创建的单例
+     */
+    FrozenBeanIndex(Map<String, BeanDefinition> definitions, Map<String, Object> singletons) {
+        String[] keys = definitions.keySet().toArray(new String[0]);
+        int size = tableSizeFor(Math.max(keys.length * 2, 2));
+        boolean perfect = false;
+        for (int s = size; s <= size * MAX_GROWTH; s <<= 1) {
+            if (isCollisionFree(keys, s)) {
+                size = s;
+                perfect = true;
+                break;
+            }
+        }
+        this.perfect = perfect;
+        this.mask = size - 1;
+        this.shift = shiftFor(size);
+        this.table = new Object[size * 2];
+        this.definitions = new BeanDefinition[size];
+        for (String key : keys) {
+            int i = spread(key.hashCode(), this.shift);
+            while (this.table[i << 1] != null) {
+                i = (i + 1) & this.mask;
+            }
+            this.table[i << 1] = key;
+            this.table[(i << 1) + 1] = singletons.get(key);
+            this.definitions[i] = definitions.get(key);
+        }
+    }
+
+    private static boolean isCollisionFree(String[] keys, int size) {
+        boolean[] used = new boolean[size];
+        int shift = shiftFor(size);
+        for (String key : keys) {
+            int i = spread(key.hashCode(), shift);
+            if (used[i]) {
+                return false;
+            }
+            used[i] = true;
+        }
+        return true;
+    }
+
+    /**
+     * Fibonacci散列，取乘积的高位，避免连续的字符串hash聚集在相邻位置
+     */
+    private static int spread(int h, int shift) {
+        return (h * 0x9E3779B9) >>> shift;
+    }
+
+    private static int shiftFor(int size) {
+        return 32 - Integer.numberOfTrailingZeros(size);
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(n);
+        return size == n ? size : size << 1;
+    }
+
+    private int indexOf(String name) {
+        int i = spread(name.hashCode(), this.shift);
+        for (;;) {
+            Object key = this.table[i << 1];
+            if (key == null) {
+                return -1;
+            }
+            if (key == name || key.equals(name)) {
+                return i;
+            }
+            if (this.perfect) {
+                return -1;
+            }
+            i = (i + 1) & this.mask;
+        }
+    }
+
+    /**
+     * 冻结时已创建的单例，没有则返回null
+     */
+    public Object getSingleton(String name) {
+        int i = indexOf(name);
+        return i < 0 ? null : this.table[(i << 1) + 1];
+    }
+
+    public BeanDefinition getBeanDefinition(String name) {
+        int i = indexOf(name);
+        return i < 0 ? null : this.definitions[i];
+    }
+
+    public boolean isPerfect() {
+        return perfect;
+    }
+}
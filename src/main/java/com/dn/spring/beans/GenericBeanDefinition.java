@@ -3,8 +3,12 @@ package com.dn.spring.beans;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GenericBeanDefinition implements BeanDefinition {
 
@@ -20,10 +24,36 @@ public class GenericBeanDefinition implements BeanDefinition {
 
     private String destroyMethodName;
 
+    private boolean asyncInit;
+
+    private long initTimeoutMillis;
+
+    private String resetMethodName;
+
+    private boolean lazyInit;
+
+    private String autowireMode = BeanDefinition.AUTOWIRE_NO;
+
+    private int poolMinSize = 0;
+
+    private int poolMaxSize = 8;
+
+    private long poolMaxIdleMillis = 60000;
+
     private Constructor<?> constructor;
 
     private Method factoryMethod;
 
+    private final Map<ArgumentSignature, Executable> resolvedExecutables = new ConcurrentHashMap<>(4);
+
+    private volatile BeanInstantiator instantiator;
+
+    private volatile InjectionPlan injectionPlan;
+
+    private volatile ArgumentPlan argumentPlan;
+
+    private volatile AutowirePlan autowirePlan;
+
     private List<?> constructorArgumentValues;
 
     private List<PropertyValue> propertyValues;
@@ -35,6 +65,7 @@ public class GenericBeanDefinition implements BeanDefinition {
 
     public void setConstructorArgumentValues(List<?> constructorArgumentValues) {
         this.constructorArgumentValues = constructorArgumentValues;
+        this.argumentPlan = null;
     }
 
     @Override
@@ -57,6 +88,63 @@ public class GenericBeanDefinition implements BeanDefinition {
         this.factoryMethod = factoryMethod;
     }
 
+    @Override
+    public Executable getResolvedExecutable(ArgumentSignature signature) {
+        return resolvedExecutables.get(signature);
+    }
+
+    /**
+     * 已缓存的签名和构造方法(或工厂方法)
+     */
+    public Map<ArgumentSignature, Executable> getResolvedExecutables() {
+        return Collections.unmodifiableMap(resolvedExecutables);
+    }
+
+    @Override
+    public void cacheResolvedExecutable(ArgumentSignature signature, Executable executable) {
+        resolvedExecutables.put(signature, executable);
+    }
+
+    @Override
+    public BeanInstantiator getInstantiator() {
+        return instantiator;
+    }
+
+    @Override
+    public void setInstantiator(BeanInstantiator instantiator) {
+        this.instantiator = instantiator;
+    }
+
+    @Override
+    public InjectionPlan getInjectionPlan() {
+        return injectionPlan;
+    }
+
+    @Override
+    public void setInjectionPlan(InjectionPlan injectionPlan) {
+        this.injectionPlan = injectionPlan;
+    }
+
+    @Override
+    public ArgumentPlan getArgumentPlan() {
+        return argumentPlan;
+    }
+
+    @Override
+    public void setArgumentPlan(ArgumentPlan argumentPlan) {
+        this.argumentPlan = argumentPlan;
+    }
+
+    @Override
+    public AutowirePlan getAutowirePlan() {
+        return autowirePlan;
+    }
+
+    @Override
+    public void setAutowirePlan(AutowirePlan autowirePlan) {
+        this.autowirePlan = autowirePlan;
+    }
+
     @Override
     public List<PropertyValue> getPropertyValues() {
         return propertyValues;
@@ -64,10 +152,16 @@ public class GenericBeanDefinition implements BeanDefinition {
 
     public void setPropertyValues(List<PropertyValue> propertyValues) {
         this.propertyValues = propertyValues;
+        this.injectionPlan = null;
     }
 
     public void setBeanClass(Class<?> beanClass) {
         this.beanClass = beanClass;
+        this.constructor = null;
+        this.factoryMethod = null;
+        this.resolvedExecutables.clear();
+        this.instantiator = null;
+        this.injectionPlan = null;
     }
 
     public void setScope(String scope) {
@@ -82,16 +176,50 @@ public class GenericBeanDefinition implements BeanDefinition {
 
     public void setFactoryMethodName(String factoryMethodName) {
         this.factoryMethodName = factoryMethodName;
+        this.factoryMethod = null;
+        this.resolvedExecutables.clear();
     }
 
     public void setInitMethodName(String initMethodName) {
         this.initMethodName = initMethodName;
     }
 
+    public void setAsyncInit(boolean asyncInit) {
+        this.asyncInit = asyncInit;
+    }
+
+    public void setInitTimeoutMillis(long initTimeoutMillis) {
+        this.initTimeoutMillis = initTimeoutMillis;
+    }
+
     public void setDestroyMethodName(String destroyMethodName) {
         this.destroyMethodName = destroyMethodName;
     }
 
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    public void setAutowireMode(String autowireMode) {
+        this.autowireMode = autowireMode;
+    }
+
+    public void setResetMethodName(String resetMethodName) {
+        this.resetMethodName = resetMethodName;
+    }
+
+    public void setPoolMinSize(int poolMinSize) {
+        this.poolMinSize = poolMinSize;
+    }
+
+    public void setPoolMaxSize(int poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+
+    public void setPoolMaxIdleMillis(long poolMaxIdleMillis) {
+        this.poolMaxIdleMillis = poolMaxIdleMillis;
+    }
+
     @Override
     public Class<?> getBeanClass() {
         return this.beanClass;
@@ -112,6 +240,21 @@ public class GenericBeanDefinition implements BeanDefinition {
         return BeanDefinition.SCOPE_PROTOTYPE.equals(this.scope);
     }
 
+    @Override
+    public boolean isPooled() {
+        return BeanDefinition.SCOPE_POOLED.equals(this.scope);
+    }
+
+    @Override
+    public boolean isLazyInit() {
+        return this.lazyInit;
+    }
+
+    @Override
+    public String getAutowireMode() {
+        return this.autowireMode;
+    }
+
     @Override
     public String getFactoryBeanName() {
         return this.factoryBeanName;
@@ -127,11 +270,41 @@ public class GenericBeanDefinition implements BeanDefinition {
         return this.initMethodName;
     }
 
+    @Override
+    public boolean isAsyncInit() {
+        return this.asyncInit;
+    }
+
+    @Override
+    public long getInitTimeoutMillis() {
+        return this.initTimeoutMillis;
+    }
+
     @Override
     public String getDestroyMethodName() {
         return this.destroyMethodName;
     }
 
+    @Override
+    public String getResetMethodName() {
+        return this.resetMethodName;
+    }
+
+    @Override
+    public int getPoolMinSize() {
+        return this.poolMinSize;
+    }
+
+    @Override
+    public int getPoolMaxSize() {
+        return this.poolMaxSize;
+    }
+
+    @Override
+    public long getPoolMaxIdleMillis() {
+        return this.poolMaxIdleMillis;
+    }
+
     @Override
     public String toString() {
         return "GenericBeanDefinition [beanClass=" + beanClass + ", scope=" + scope + ", factoryBeanName="
@@ -0,0 +1,247 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：InjectionPlan.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.dn.spring.beans.convert.ConversionService;
+
+/**
+ * Description: 属性注入计划.
+ * <p>
+ * 对一个bean定义的属性依赖只解析一次：字段(或setter)被编译为MethodHandle，字面值(包括只含字面值的集合)直接绑定到句柄上，
+ * 基本类型在绑定时拆箱，之后每次注入不再装箱。给定类型转换时，字面值在绑定前解析占位符并转换为属性类型，
+ * 转换只在构建计划时做一次。属性定义或bean类变化后计划失效，由bean工厂重新构建。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class InjectionPlan {
+
+    private static final MethodType BOUND_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> targetClass;
+
+    private final List<PropertyValue> propertyValues;
+
+    private final Injector[] injectors;
+
+    private InjectionPlan(Class<?> targetClass, List<PropertyValue> propertyValues, Injector[] injectors) {
+        this.targetClass = targetClass;
+        this.propertyValues = propertyValues;
+        this.injectors = injectors;
+    }
+
+    /**
+     * 为给定类和属性依赖构建注入计划
+     *
+     * @param targetClass 实例的类
+     * @param propertyValues 属性依赖
+     * @return 注入计划
+     * @throws Exception 属性不存在或值类型不匹配
+     */
+    public static InjectionPlan build(Class<?> targetClass, List<PropertyValue> propertyValues) throws Exception {
+        return build(targetClass, propertyValues, null);
+    }
+
+    /**
+     * 为给定类和属性依赖构建注入计划，字面值按属性类型转换
+     *
+     * @param targetClass 实例的类
+     * @param propertyValues 属性依赖
+     * @param conversionService 类型转换，为null时不转换
+     * @return 注入计划
+     * @throws Exception 属性不存在或值类型不匹配
+     */
+    public static InjectionPlan build(Class<?> targetClass, List<PropertyValue> propertyValues,
+            ConversionService conversionService) throws Exception {
+        List<Injector> injectors = new ArrayList<>(propertyValues.size());
+        for (PropertyValue pv : propertyValues) {
+            if (StringUtils.isBlank(pv.getName())) {
+                injectors.add(new Injector(pv, pv.getValue(), null, null));
+                continue;
+            }
+            MethodHandle setter = findSetter(targetClass, pv.getName());
+            Object value = pv.getValue();
+            ValueResolver resolver = ValueResolver.of(value);
+            if (resolver.isConstant()) {
+                MethodHandle bound;
+                try {
+                    Object literal = resolver.resolve(null);
+                    if (conversionService != null) {
+                        literal = conversionService.convert(literal, findPropertyType(targetClass, pv.getName()));
+                    }
+                    bound = MethodHandles.insertArguments(setter, 1, literal).asType(BOUND_TYPE);
+                } catch (ClassCastException | IllegalArgumentException | NullPointerException e) {
+                    throw new IllegalArgumentException(
+                            "属性[" + pv.getName() + "]的值类型不匹配：" + value + "，bean类：" + targetClass, e);
+                }
+                injectors.add(new Injector(pv, value, bound, null));
+            } else if (value instanceof BeanReference && !((BeanReference) value).isReady()) {
+                Class<?> propertyType = setter.type().parameterType(1);
+                injectors.add(new Injector(pv, value, setter.asType(SETTER_TYPE),
+                        new ValueResolver.LazyReferenceResolver(((BeanReference) value).getBeanName(), propertyType)));
+            } else {
+                injectors.add(new Injector(pv, value, setter.asType(SETTER_TYPE), resolver));
+            }
+        }
+        return new InjectionPlan(targetClass, propertyValues, injectors.toArray(new Injector[0]));
+    }
+
+    /**
+     * 计划是否仍对应给定类和属性依赖
+     */
+    public boolean isValidFor(Class<?> clazz, List<PropertyValue> pvs) {
+        if (clazz != this.targetClass || pvs != this.propertyValues || pvs.size() != injectors.length) {
+            return false;
+        }
+        Iterator<PropertyValue> it = pvs.iterator();
+        for (Injector injector : injectors) {
+            PropertyValue pv = it.next();
+            if (pv != injector.pv || pv.getValue() != injector.value || pv.getName() != injector.name) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 执行注入
+     *
+     * @param instance bean实例
+     * @param bf 用于解析引用值的bean工厂
+     * @throws Exception
+     */
+    void inject(Object instance, DefaultBeanFactory bf) throws Exception {
+        for (Injector injector : injectors) {
+            if (injector.setter == null) {
+                continue;
+            }
+            try {
+                if (injector.resolver == null) {
+                    injector.setter.invokeExact(instance);
+                } else {
+                    injector.setter.invokeExact(instance, injector.resolver.resolve(bf));
+                }
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("注入属性[" + injector.name + "]异常", e);
+            }
+        }
+    }
+
+    /**
+     * 查找属性的写入句柄：先按字段(含父类)，再按setter方法
+     */
+    private static MethodHandle findSetter(Class<?> clazz, String name) throws Exception {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            Field field;
+            try {
+                field = c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                continue;
+            }
+            if (Modifier.isStatic(field.getModifiers())) {
+                break;
+            }
+            field.setAccessible(Boolean.TRUE);
+            try {
+                return lookup.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                // final字段等无法生成写入句柄时，退回反射
+                return FIELD_SET.bindTo(field).asType(MethodType.methodType(void.class, field.getDeclaringClass(),
+                        field.getType()));
+            }
+        }
+
+        String setterName = "set" + StringUtils.capitalize(name);
+        for (Method m : clazz.getMethods()) {
+            if (m.getName().equals(setterName) && m.getParameterCount() == 1
+                    && !Modifier.isStatic(m.getModifiers())) {
+                m.setAccessible(Boolean.TRUE);
+                return lookup.unreflect(m).asType(MethodType.methodType(void.class, clazz, m.getParameterTypes()[0]));
+            }
+        }
+        throw new NoSuchFieldException("类" + clazz.getName() + "中不存在属性：" + name);
+    }
+
+    /**
+     * 属性的声明类型(含泛型参数)，查找顺序与 {@link #findSetter} 相同
+     */
+    private static Type findPropertyType(Class<?> clazz, String name) {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return field.getGenericType();
+                }
+                break;
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            }
+        }
+        String setterName = "set" + StringUtils.capitalize(name);
+        for (Method m : clazz.getMethods()) {
+            if (m.getName().equals(setterName) && m.getParameterCount() == 1
+                    && !Modifier.isStatic(m.getModifiers())) {
+                return m.getGenericParameterTypes()[0];
+            }
+        }
+        return Object.class;
+    }
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set",
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Injector {
+
+        private final PropertyValue pv;
+
+        private final String name;
+
+        private final Object value;
+
+        private final MethodHandle setter;
+
+        /**
+         * 值已绑定到setter上时为null
+         */
+        private final ValueResolver resolver;
+
+        Injector(PropertyValue pv, Object value, MethodHandle setter, ValueResolver resolver) {
+            this.pv = pv;
+            this.name = pv.getName();
+            this.value = value;
+            this.setter = setter;
+            this.resolver = resolver;
+        }
+    }
+}
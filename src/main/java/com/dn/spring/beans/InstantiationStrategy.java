@@ -0,0 +1,28 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：InstantiationStrategy.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Description: 实例化策略，决定构造方法如何被调用.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public interface InstantiationStrategy {
+
+    /**
+     * 为构造方法创建实例化器，只在第一次解析bean定义时调用
+     *
+     * @param constructor 构造方法
+     * @return 实例化器
+     * @throws Exception
+     */
+    BeanInstantiator instantiator(Constructor<?> constructor) throws Exception;
+}
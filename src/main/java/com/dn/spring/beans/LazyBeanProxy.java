@@ -0,0 +1,131 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：LazyBeanProxy.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Description: 延迟初始化单例的JDK代理，第一次调用方法时从bean工厂获取目标，之后直接转发.
+ * <p>
+ * equals、hashCode、toString由代理自己按身份处理，放入HashMap或输出日志不会创建目标。
+ * 转发使用按方法缓存的MethodHandle，不再每次反射调用。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class LazyBeanProxy implements InvocationHandler {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /**
+     * 接口方法 -> (Object target, Object[] args)Object 形式的句柄，所有代理共享
+     */
+    private static final Map<Method, MethodHandle> INVOKERS = new ConcurrentHashMap<>();
+
+    /**
+     * 无法生成句柄(如接口不可访问)时的标记，退回反射调用
+     */
+    private static final MethodHandle REFLECTIVE = MethodHandles.constant(Object.class, null);
+
+    private final DefaultBeanFactory beanFactory;
+
+    private final String beanName;
+
+    private volatile Object target;
+
+    private LazyBeanProxy(DefaultBeanFactory beanFactory, String beanName) {
+        this.beanFactory = beanFactory;
+        this.beanName = beanName;
+    }
+
+    /**
+     * 创建实现bean类所有公共接口的代理
+     *
+     * @throws IllegalArgumentException 接口无法被代理
+     */
+    static Object create(DefaultBeanFactory beanFactory, String beanName, Class<?> beanType) {
+        List<Class<?>> interfaces = new ArrayList<>();
+        for (Class<?> i : ClassUtils.getAllInterfaces(beanType)) {
+            if (Modifier.isPublic(i.getModifiers())) {
+                interfaces.add(i);
+            }
+        }
+        ClassLoader cl = beanType.getClassLoader() != null ? beanType.getClassLoader()
+                : LazyBeanProxy.class.getClassLoader();
+        return Proxy.newProxyInstance(cl, interfaces.toArray(new Class<?>[0]),
+                new LazyBeanProxy(beanFactory, beanName));
+    }
+
+    private Object getTarget() throws Exception {
+        Object t = this.target;
+        if (t == null) {
+            synchronized (this) {
+                t = this.target;
+                if (t == null) {
+                    t = this.beanFactory.doGetBean(this.beanName);
+                    this.target = t;
+                }
+            }
+        }
+        return t;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "延迟初始化bean[" + this.beanName + "]的代理";
+                default:
+                    break;
+            }
+        }
+        MethodHandle invoker = INVOKERS.get(method);
+        if (invoker == null) {
+            invoker = INVOKERS.computeIfAbsent(method, LazyBeanProxy::invoker);
+        }
+        if (invoker == REFLECTIVE) {
+            try {
+                return method.invoke(this.getTarget(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        Object[] actual = args == null ? NO_ARGS : args;
+        return (Object) invoker.invokeExact(this.getTarget(), actual);
+    }
+
+    private static MethodHandle invoker(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            return REFLECTIVE;
+        }
+    }
+}
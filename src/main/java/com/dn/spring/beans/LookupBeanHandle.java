@@ -0,0 +1,45 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：LookupBeanHandle.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: 其他作用域的句柄，每次按名字从bean工厂获取.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class LookupBeanHandle<T> implements BeanHandle<T> {
+
+    private final DefaultBeanFactory factory;
+
+    private final String name;
+
+    private final Class<T> type;
+
+    LookupBeanHandle(DefaultBeanFactory factory, String name, Class<T> type) {
+        this.factory = factory;
+        this.name = name;
+        this.type = type;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public T get() {
+        try {
+            return type.cast(factory.doGetBean(name));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BeanCreationException("获取bean[" + name + "]异常", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：MethodHandleInstantiationStrategy.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Description: 基于MethodHandle的实例化策略.
+ * <p>
+ * 无参的public构造方法通过 LambdaMetafactory 生成 Supplier，其余构造方法编译为 (Object[])Object 的MethodHandle；
+ * 生成失败时退回反射方式。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class MethodHandleInstantiationStrategy implements InstantiationStrategy {
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final InstantiationStrategy fallback = new ReflectiveInstantiationStrategy();
+
+    @Override
+    public BeanInstantiator instantiator(Constructor<?> constructor) throws Exception {
+        try {
+            if (constructor.getParameterCount() == 0 && isLambdaAccessible(constructor)) {
+                return lambdaInstantiator(constructor);
+            }
+            return methodHandleInstantiator(constructor);
+        } catch (Throwable e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("生成实例化器失败，使用反射方式：" + constructor, e);
+            }
+            return fallback.instantiator(constructor);
+        }
+    }
+
+    /**
+     * 生成的lambda类定义在本类的类加载器中，目标类必须对其可见
+     */
+    private boolean isLambdaAccessible(Constructor<?> constructor) {
+        Class<?> type = constructor.getDeclaringClass();
+        if (!Modifier.isPublic(type.getModifiers()) || !Modifier.isPublic(constructor.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(type.getName(), false, getClass().getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private BeanInstantiator lambdaInstantiator(Constructor<?> constructor) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle mh = lookup.unreflectConstructor(constructor);
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class), mh, MethodType.methodType(constructor.getDeclaringClass()));
+        Supplier<?> supplier = (Supplier<?>) site.getTarget().invokeExact();
+        return new BeanInstantiator() {
+            @Override
+            public Constructor<?> getConstructor() {
+                return constructor;
+            }
+
+            @Override
+            public Object newInstance(Object[] args) {
+                return supplier.get();
+            }
+        };
+    }
+
+    private BeanInstantiator methodHandleInstantiator(Constructor<?> constructor) throws Throwable {
+        constructor.setAccessible(true);
+        MethodHandle mh = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+        int n = constructor.getParameterCount();
+        MethodHandle spread = mh.asType(MethodType.genericMethodType(n)).asSpreader(Object[].class, n);
+        MethodHandle target = spread.asType(SPREAD_TYPE);
+        return new BeanInstantiator() {
+            @Override
+            public Constructor<?> getConstructor() {
+                return constructor;
+            }
+
+            @Override
+            public Object newInstance(Object[] args) throws Throwable {
+                return target.invokeExact(args);
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ObjectFactory.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: 对象工厂，延迟获取对象.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface ObjectFactory<T> {
+
+    /**
+     * 获取对象
+     *
+     * @return 对象
+     * @throws Exception
+     */
+    T getObject() throws Exception;
+}
@@ -1,8 +1,20 @@
 package com.dn.spring.beans;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.dn.spring.beans.metrics.BeanFactoryMetrics;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -10,28 +22,193 @@ public class PreBuildBeanFactory extends DefaultBeanFactory {
 
     private final Log logger = LogFactory.getLog(getClass());
 
+    /**
+     * 按注册顺序的bean名，在注册锁内读写
+     */
     private List<String> beanNames = new ArrayList<>();
 
+    /**
+     * 是否按依赖图并行预实例化单例
+     */
+    private boolean parallelPreInstantiation;
+
+    /**
+     * 并行预实例化使用的线程池
+     */
+    private Executor preInstantiateExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * 从bean定义索引读入的依赖图，之后再注册bean定义则失效
+     */
+    private BeanDependencyGraph indexedGraph;
+
     @Override
-    public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition)
-            throws BeanDefinitionRegistException {
-        super.registerBeanDefinition(beanName, beanDefinition);
-        synchronized (beanNames) {
-            beanNames.add(beanName);
+    protected void onBeanDefinitionsRegistered(Collection<String> names) {
+        // 已在注册锁内
+        beanNames.addAll(names);
+        indexedGraph = null;
+    }
+
+    @Override
+    protected void onBeanDefinitionIndexLoaded(BeanDefinitionIndex index) {
+        // 只有索引包含全部bean时，它的依赖图才是完整的
+        indexedGraph = beanNames.isEmpty() ? index.getDependencyGraph() : null;
+        beanNames.addAll(index.getBeanDefinitions().keySet());
+    }
+
+    /**
+     * 按注册顺序返回所有bean定义的名字
+     */
+    public List<String> getBeanDefinitionNames() {
+        synchronized (this.getRegistrationLock()) {
+            return new ArrayList<>(beanNames);
         }
     }
 
+    public boolean isParallelPreInstantiation() {
+        return parallelPreInstantiation;
+    }
+
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    public void setPreInstantiateExecutor(Executor preInstantiateExecutor) {
+        this.preInstantiateExecutor = Objects.requireNonNull(preInstantiateExecutor, "preInstantiateExecutor不能为空");
+    }
+
     public void preInstantiateSingletons() throws Exception {
-        synchronized (beanNames) {
-            for (String name : beanNames) {
-                BeanDefinition bd = this.getBeanDefinition(name);
-                if (bd.isSingleton()) {
-                    this.doGetBean(name);
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("preInstantiate: name=" + name + " " + bd);
-                    }
+        // 自动装配错误在创建任何bean之前报出
+        this.resolveAutowiring();
+        if (this.parallelPreInstantiation) {
+            this.preInstantiateSingletonsInParallel();
+        } else {
+            // 复制后在锁外创建，创建bean时不持有注册锁
+            for (String name : this.getBeanDefinitionNames()) {
+                this.preInstantiate(name);
+            }
+        }
+        // 等待所有异步初始化完成
+        this.awaitPendingInits();
+    }
+
+    /**
+     * 按依赖图并行预实例化：一个bean依赖的bean都完成后才提交它，互不依赖的bean同时创建，
+     * 启动耗时取决于依赖图的深度而不是bean的数量。处在环上的bean最后按顺序创建。
+     */
+    private void preInstantiateSingletonsInParallel() throws Exception {
+        List<String> names;
+        BeanDependencyGraph graph;
+        synchronized (this.getRegistrationLock()) {
+            names = new ArrayList<>(beanNames);
+            graph = indexedGraph;
+        }
+        if (graph == null) {
+            graph = BeanDependencyGraph.build(this, names);
+        }
+        List<String> order = graph.topologicalOrder();
+        Set<String> acyclic = new HashSet<>(order);
+
+        Map<String, AtomicInteger> pending = new ConcurrentHashMap<>(order.size() * 2);
+        List<String> roots = new ArrayList<>();
+        for (String name : order) {
+            int deps = graph.getDependencies(name).size();
+            pending.put(name, new AtomicInteger(deps));
+            if (deps == 0) {
+                roots.add(name);
+            }
+        }
+
+        ParallelRun run = new ParallelRun(graph, pending, order.size());
+        for (String name : roots) {
+            run.submit(name);
+        }
+        try {
+            run.done.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new Exception("并行预实例化单例失败", cause);
+        }
+
+        for (String name : names) {
+            if (!acyclic.contains(name)) {
+                this.preInstantiate(name);
+            }
+        }
+    }
+
+    private void preInstantiate(String name) throws Exception {
+        BeanDefinition bd = this.getBeanDefinition(name);
+        if (bd.isSingleton() && !bd.isLazyInit()) {
+            BeanFactoryMetrics metrics = this.getMetrics();
+            if (metrics.isEnabled()) {
+                long start = System.nanoTime();
+                this.doGetBean(name);
+                metrics.recordStartup(name, start, System.nanoTime());
+            } else {
+                this.doGetBean(name);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("preInstantiate: name=" + name + " " + bd);
+            }
+        } else if (bd.isPooled()) {
+            // 池化bean预先补足最小空闲数
+            this.getBeanPool(name, bd);
+        }
+    }
+
+    /**
+     * 一次并行预实例化的状态
+     */
+    private final class ParallelRun {
+
+        private final BeanDependencyGraph graph;
+
+        private final Map<String, AtomicInteger> pending;
+
+        private final AtomicInteger remaining;
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        ParallelRun(BeanDependencyGraph graph, Map<String, AtomicInteger> pending, int total) {
+            this.graph = graph;
+            this.pending = pending;
+            this.remaining = new AtomicInteger(total);
+            if (total == 0) {
+                done.complete(null);
+            }
+        }
+
+        void submit(String name) {
+            try {
+                preInstantiateExecutor.execute(() -> this.run(name));
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        }
+
+        private void run(String name) {
+            if (done.isDone()) {
+                return;
+            }
+            try {
+                preInstantiate(name);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            for (String dependent : graph.getDependents(name)) {
+                AtomicInteger count = pending.get(dependent);
+                if (count != null && count.decrementAndGet() == 0) {
+                    this.submit(dependent);
                 }
             }
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            }
         }
     }
 }
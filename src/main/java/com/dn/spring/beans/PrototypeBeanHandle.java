@@ -0,0 +1,60 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：PrototypeBeanHandle.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: 原型句柄，get() 直接创建bean，不再查找bean定义.
+ * <p>
+ * 创建句柄时能确定类型的不再检查；类型只能在创建后确定的(工厂方法声明接口或父类)，每次get()检查实例类型。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class PrototypeBeanHandle<T> implements BeanHandle<T> {
+
+    private final DefaultBeanFactory factory;
+
+    private final String name;
+
+    private final BeanDefinition bd;
+
+    /**
+     * 需要在get()时检查的类型，创建句柄时已检查则为null
+     */
+    private final Class<T> checkedType;
+
+    PrototypeBeanHandle(DefaultBeanFactory factory, String name, BeanDefinition bd, Class<T> checkedType) {
+        this.factory = factory;
+        this.name = name;
+        this.bd = bd;
+        this.checkedType = checkedType;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get() {
+        Object instance;
+        try {
+            instance = factory.createBean(name, bd);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BeanCreationException("创建bean[" + name + "]异常", e);
+        }
+        if (checkedType != null && !checkedType.isInstance(instance)) {
+            throw new ClassCastException(
+                    "bean[" + name + "]的类型是" + instance.getClass().getName() + "，不是" + checkedType.getName());
+        }
+        return (T) instance;
+    }
+}
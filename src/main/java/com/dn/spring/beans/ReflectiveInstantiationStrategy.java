@@ -0,0 +1,35 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ReflectiveInstantiationStrategy.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Description: 反射方式的实例化策略，即 Constructor.newInstance.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ReflectiveInstantiationStrategy implements InstantiationStrategy {
+
+    @Override
+    public BeanInstantiator instantiator(Constructor<?> constructor) throws Exception {
+        constructor.setAccessible(true);
+        return new BeanInstantiator() {
+            @Override
+            public Constructor<?> getConstructor() {
+                return constructor;
+            }
+
+            @Override
+            public Object newInstance(Object[] args) throws Throwable {
+                return constructor.newInstance(args);
+            }
+        };
+    }
+}
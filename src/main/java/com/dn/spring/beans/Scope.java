@@ -0,0 +1,49 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：Scope.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: bean的作用域，通过 {@link DefaultBeanFactory#registerScope(String, Scope)} 注册，
+ * 作用域名即bean定义的scope.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public interface Scope {
+
+    /**
+     * 获取当前作用域中的bean，不存在时由objectFactory创建并保存
+     *
+     * @param name bean的名字
+     * @param objectFactory 创建bean
+     * @return bean 实例
+     * @throws Exception
+     */
+    Object get(String name, ObjectFactory<?> objectFactory) throws Exception;
+
+    /**
+     * 从当前作用域移除bean，不执行销毁回调
+     *
+     * @param name bean的名字
+     * @return 移除的实例，不存在时为null
+     */
+    Object remove(String name);
+
+    /**
+     * 登记当前作用域中bean的销毁回调，作用域结束或工厂关闭时执行
+     *
+     * @param name bean的名字
+     * @param callback 销毁回调
+     */
+    void registerDestructionCallback(String name, Runnable callback);
+
+    /**
+     * 工厂关闭时调用，执行尚未执行的销毁回调
+     */
+    void destroy();
+}
@@ -0,0 +1,196 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ScopeContext.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Description: {@link ContextScope} 的一个作用域上下文，由 {@link ContextScope#open()} 打开并绑定到当前线程，
+ * close时解绑并销毁其中的实例. 上下文可以通过 {@link #wrap(Runnable)} 传给子任务共享.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class ScopeContext implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(ScopeContext.class);
+
+    private final ContextScope scope;
+
+    private final ScopeContext previous;
+
+    /**
+     * 当前线程中正在创建的bean，创建期间登记的销毁回调先记在这里
+     */
+    private static final ThreadLocal<Creation> CREATING = new ThreadLocal<>();
+
+    private final Map<String, Object> beans = new ConcurrentHashMap<>();
+
+    private final Map<String, Runnable> callbacks = new LinkedHashMap<>();
+
+    private volatile boolean closed;
+
+    ScopeContext(ContextScope scope, ScopeContext previous) {
+        this.scope = scope;
+        this.previous = previous;
+    }
+
+    /**
+     * 在锁外创建实例，创建时引用其他上下文的bean不会互相等待；并发创建时先发布的实例胜出，多创建的实例被销毁
+     */
+    Object get(String name, ObjectFactory<?> objectFactory) throws Exception {
+        Object bean = this.beans.get(name);
+        if (bean != null) {
+            return bean;
+        }
+        if (this.closed) {
+            throw new IllegalStateException("作用域上下文已关闭");
+        }
+        Creation creation = new Creation(this, name, CREATING.get());
+        CREATING.set(creation);
+        try {
+            bean = objectFactory.getObject();
+        } finally {
+            if (creation.outer == null) {
+                CREATING.remove();
+            } else {
+                CREATING.set(creation.outer);
+            }
+        }
+
+        Object existing;
+        boolean closedMeanwhile;
+        synchronized (this) {
+            closedMeanwhile = this.closed;
+            existing = closedMeanwhile ? null : this.beans.putIfAbsent(name, bean);
+            if (!closedMeanwhile && existing == null && creation.callback != null) {
+                this.callbacks.put(name, creation.callback);
+            }
+        }
+        if (closedMeanwhile || existing != null) {
+            runCallback(name, creation.callback);
+            if (closedMeanwhile) {
+                throw new IllegalStateException("作用域上下文已关闭");
+            }
+            return existing;
+        }
+        return bean;
+    }
+
+    synchronized Object remove(String name) {
+        this.callbacks.remove(name);
+        return this.beans.remove(name);
+    }
+
+    /**
+     * 登记销毁回调。实例正在本线程中创建时先记在创建记录上，发布成功才登记
+     */
+    void registerDestructionCallback(String name, Runnable callback) {
+        Creation creation = CREATING.get();
+        if (creation != null && creation.context == this && creation.name.equals(name)) {
+            creation.callback = callback;
+            return;
+        }
+        synchronized (this) {
+            this.callbacks.put(name, callback);
+        }
+    }
+
+    ScopeContext getPrevious() {
+        return this.previous;
+    }
+
+    /**
+     * 在其他线程中以本上下文执行任务，任务结束后恢复该线程原来的上下文，不关闭本上下文
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            ScopeContext saved = this.scope.bind(this);
+            try {
+                task.run();
+            } finally {
+                this.scope.restore(saved);
+            }
+        };
+    }
+
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            ScopeContext saved = this.scope.bind(this);
+            try {
+                return task.call();
+            } finally {
+                this.scope.restore(saved);
+            }
+        };
+    }
+
+    /**
+     * 解绑并销毁上下文中的实例
+     */
+    @Override
+    public void close() {
+        this.scope.unbind(this);
+        this.destroy();
+    }
+
+    void destroy() {
+        List<Map.Entry<String, Runnable>> toRun;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            toRun = new ArrayList<>(this.callbacks.entrySet());
+            this.callbacks.clear();
+            this.beans.clear();
+        }
+        for (Map.Entry<String, Runnable> e : toRun) {
+            runCallback(e.getKey(), e.getValue());
+        }
+    }
+
+    private static void runCallback(String name, Runnable callback) {
+        if (callback == null) {
+            return;
+        }
+        try {
+            callback.run();
+        } catch (RuntimeException ex) {
+            logger.error("执行上下文作用域bean[" + name + "] 的 销毁回调异常！", ex);
+        }
+    }
+
+    /**
+     * 当前线程中正在创建的上下文作用域bean，嵌套创建时通过outer串起来
+     */
+    private static final class Creation {
+
+        private final ScopeContext context;
+
+        private final String name;
+
+        private final Creation outer;
+
+        private Runnable callback;
+
+        Creation(ScopeContext context, String name, Creation outer) {
+            this.context = context;
+            this.name = name;
+            this.outer = outer;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：SingletonBeanHandle.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+/**
+ * Description: 单例句柄，get() 只是读取final字段.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class SingletonBeanHandle<T> implements BeanHandle<T> {
+
+    private final String name;
+
+    private final T instance;
+
+    SingletonBeanHandle(String name, T instance) {
+        this.name = name;
+        this.instance = instance;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public T get() {
+        return instance;
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ThreadScope.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Description: 线程作用域，每个线程一份实例，线程内复用不加锁.
+ * 适合日期格式化、摘要等非线程安全的工具对象。虚拟线程数量很多时使用 {@link ContextScope}.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ThreadScope implements Scope {
+
+    private static final Log logger = LogFactory.getLog(ThreadScope.class);
+
+    /**
+     * 登记的线程数达到该值时才清理已结束的线程，之后按翻倍的间隔清理，分摊到每个新线程是常数时间
+     */
+    private static final int MIN_SWEEP_SIZE = 64;
+
+    private final ThreadLocal<ThreadBeans> threadBeans = new ThreadLocal<>();
+
+    /**
+     * 各线程的实例，用于执行销毁回调。已结束线程的实例在登记的线程数增长时成批销毁
+     */
+    private final Set<ThreadBeans> allThreadBeans = ConcurrentHashMap.newKeySet();
+
+    private volatile int sweepSize = MIN_SWEEP_SIZE;
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) throws Exception {
+        ThreadBeans tb = this.current();
+        Object bean = tb.get(name);
+        if (bean == null) {
+            bean = objectFactory.getObject();
+            // 创建期间可能已被销毁，放入当前有效的实例表
+            this.current().put(name, bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public Object remove(String name) {
+        return this.current().remove(name);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        this.current().registerCallback(name, callback);
+    }
+
+    /**
+     * 销毁当前线程的实例，线程池中的线程在任务结束时调用
+     */
+    public void destroyCurrentThread() {
+        ThreadBeans tb = this.threadBeans.get();
+        this.threadBeans.remove();
+        if (tb != null) {
+            this.allThreadBeans.remove(tb);
+            tb.destroy();
+        }
+    }
+
+    /**
+     * 销毁所有线程的实例。仍在运行的线程之后再访问时重新创建并登记
+     */
+    @Override
+    public void destroy() {
+        List<ThreadBeans> all = new ArrayList<>(this.allThreadBeans);
+        this.allThreadBeans.removeAll(all);
+        for (ThreadBeans tb : all) {
+            tb.destroy();
+        }
+    }
+
+    /**
+     * 当前线程的实例，不存在或已被销毁时新建并登记
+     */
+    private ThreadBeans current() {
+        ThreadBeans tb = this.threadBeans.get();
+        if (tb == null || tb.isDestroyed()) {
+            tb = new ThreadBeans();
+            this.threadBeans.set(tb);
+            this.allThreadBeans.add(tb);
+            int size = this.allThreadBeans.size();
+            if (size >= this.sweepSize) {
+                this.sweepDeadThreads();
+                this.sweepSize = Math.max(MIN_SWEEP_SIZE, this.allThreadBeans.size() * 2);
+            }
+        }
+        return tb;
+    }
+
+    private void sweepDeadThreads() {
+        for (Iterator<ThreadBeans> it = this.allThreadBeans.iterator(); it.hasNext();) {
+            ThreadBeans tb = it.next();
+            if (!tb.isOwnerAlive()) {
+                it.remove();
+                tb.destroy();
+            }
+        }
+    }
+
+    /**
+     * 一个线程的实例和销毁回调。实例表只由所属线程读写，不加锁；销毁可能来自其他线程，
+     * 通过volatile的销毁标记和并发的回调表交接：回调逐个原子地取出执行，登记回调时发现已销毁则自己执行
+     */
+    private static final class ThreadBeans {
+
+        private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+
+        private final Map<String, Object> beans = new HashMap<>();
+
+        private final Map<String, Runnable> callbacks = new ConcurrentHashMap<>();
+
+        private volatile boolean destroyed;
+
+        boolean isOwnerAlive() {
+            Thread t = this.owner.get();
+            return t != null && t.isAlive();
+        }
+
+        boolean isDestroyed() {
+            return this.destroyed;
+        }
+
+        Object get(String name) {
+            return this.beans.get(name);
+        }
+
+        void put(String name, Object bean) {
+            this.beans.put(name, bean);
+        }
+
+        Object remove(String name) {
+            this.callbacks.remove(name);
+            return this.beans.remove(name);
+        }
+
+        void registerCallback(String name, Runnable callback) {
+            this.callbacks.put(name, callback);
+            if (this.destroyed) {
+                // 与destroy()并发时，保证回调恰好执行一次
+                this.runCallback(name);
+            }
+        }
+
+        /**
+         * 执行销毁回调。实例表由所属线程在下次访问时整个替换，这里不清理
+         */
+        void destroy() {
+            if (this.destroyed) {
+                return;
+            }
+            this.destroyed = true;
+            for (String name : this.callbacks.keySet()) {
+                this.runCallback(name);
+            }
+        }
+
+        private void runCallback(String name) {
+            Runnable callback = this.callbacks.remove(name);
+            if (callback == null) {
+                return;
+            }
+            try {
+                callback.run();
+            } catch (RuntimeException ex) {
+                logger.error("执行线程作用域bean[" + name + "] 的 销毁回调异常！", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ValueResolver.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Description: 依赖值的解析器，由构造参数或属性值编译而来.
+ * <p>
+ * 容器(数组、集合、Map、Properties)中bean引用的位置在编译时确定，每次解析只需创建容器并填充引用位置；
+ * 只包含字面值的集合、Map编译为共享的不可变副本，不再每次遍历。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public abstract class ValueResolver {
+
+    /**
+     * 解析出实际的值
+     *
+     * @param bf 用于获取引用bean的工厂，不含引用的解析器可传null
+     * @return 实际值
+     * @throws Exception
+     */
+    public abstract Object resolve(DefaultBeanFactory bf) throws Exception;
+
+    /**
+     * 是否每次解析都返回同一个值(不含bean引用且可以共享)
+     */
+    public boolean isConstant() {
+        return false;
+    }
+
+    /**
+     * 是否包含bean引用
+     */
+    public boolean hasReferences() {
+        return true;
+    }
+
+    /**
+     * 编译依赖值
+     *
+     * @param value 构造参数或属性值的定义
+     * @return 解析器
+     */
+    public static ValueResolver of(Object value) {
+        if (value instanceof BeanReference) {
+            BeanReference ref = (BeanReference) value;
+            return new ReferenceResolver(ref.getBeanName(), ref.isReady());
+        } else if (value instanceof Object[]) {
+            return new ArrayResolver((Object[]) value);
+        } else if (value instanceof Collection) {
+            return CollectionResolver.of((Collection<?>) value);
+        } else if (value instanceof Properties) {
+            return new PropertiesResolver((Properties) value);
+        } else if (value instanceof Map) {
+            return MapResolver.of((Map<?, ?>) value);
+        }
+        return new ConstantResolver(value);
+    }
+
+    /**
+     * 字面值
+     */
+    static final class ConstantResolver extends ValueResolver {
+
+        private final Object value;
+
+        ConstantResolver(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) {
+            return value;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return false;
+        }
+    }
+
+    /**
+     * 属性上的bean引用：引用延迟初始化的单例且属性类型是接口时，注入延迟代理
+     */
+    static final class LazyReferenceResolver extends ValueResolver {
+
+        private final String beanName;
+
+        private final Class<?> propertyType;
+
+        LazyReferenceResolver(String beanName, Class<?> propertyType) {
+            this.beanName = beanName;
+            this.propertyType = propertyType;
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) throws Exception {
+            return bf.getLazyReference(beanName, propertyType);
+        }
+    }
+
+    /**
+     * bean引用
+     */
+    static final class ReferenceResolver extends ValueResolver {
+
+        private final String beanName;
+
+        private final boolean ready;
+
+        ReferenceResolver(String beanName, boolean ready) {
+            this.beanName = beanName;
+            this.ready = ready;
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) throws Exception {
+            return ready ? bf.getReadyBean(beanName) : bf.doGetBean(beanName);
+        }
+    }
+
+    /**
+     * 一组元素：字面值预先放入模板，引用位置单独记录
+     */
+    static final class Slots {
+
+        private final Object[] template;
+
+        private final int[] positions;
+
+        private final ValueResolver[] resolvers;
+
+        Slots(Collection<?> elements) throws Exception {
+            this.template = new Object[elements.size()];
+            List<Integer> positions = new ArrayList<>();
+            List<ValueResolver> resolvers = new ArrayList<>();
+            int i = 0;
+            for (Object element : elements) {
+                ValueResolver r = ValueResolver.of(element);
+                if (r.hasReferences()) {
+                    positions.add(i);
+                    resolvers.add(r);
+                } else {
+                    this.template[i] = r.resolve(null);
+                }
+                i++;
+            }
+            this.positions = new int[positions.size()];
+            for (int j = 0; j < this.positions.length; j++) {
+                this.positions[j] = positions.get(j);
+            }
+            this.resolvers = resolvers.toArray(new ValueResolver[0]);
+        }
+
+        boolean hasReferences() {
+            return this.positions.length > 0;
+        }
+
+        int size() {
+            return this.template.length;
+        }
+
+        Object[] literals() {
+            return this.template;
+        }
+
+        /**
+         * 把元素填入目标数组
+         */
+        void fill(Object[] target, DefaultBeanFactory bf) throws Exception {
+            System.arraycopy(this.template, 0, target, 0, this.template.length);
+            for (int j = 0; j < this.positions.length; j++) {
+                target[this.positions[j]] = this.resolvers[j].resolve(bf);
+            }
+        }
+    }
+
+    private static Slots slots(Collection<?> elements) {
+        try {
+            return new Slots(elements);
+        } catch (Exception e) {
+            // 不含引用的元素解析不会抛出异常
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 数组，每次解析得到新数组，保持原数组的元素类型
+     */
+    static final class ArrayResolver extends ValueResolver {
+
+        private final Class<?> componentType;
+
+        private final Slots slots;
+
+        ArrayResolver(Object[] array) {
+            this.componentType = array.getClass().getComponentType();
+            List<Object> elements = new ArrayList<>(array.length);
+            Collections.addAll(elements, array);
+            this.slots = slots(elements);
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) throws Exception {
+            Object[] values = (Object[]) Array.newInstance(this.componentType, this.slots.size());
+            this.slots.fill(values, bf);
+            return values;
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return this.slots.hasReferences();
+        }
+    }
+
+    /**
+     * List、Set等集合
+     */
+    static final class CollectionResolver extends ValueResolver {
+
+        /**
+         * 可以共享不可变副本的集合类型，其他可实例化的集合每次解析得到同一具体类型的新集合
+         */
+        private static final Set<Class<?>> SHAREABLE = new HashSet<>(Arrays.asList(ArrayList.class, HashSet.class,
+                LinkedHashSet.class, TreeSet.class));
+
+        private final Collection<?> source;
+
+        private final Slots slots;
+
+        /**
+         * 源集合的公开无参构造方法，没有时为null
+         */
+        private final Constructor<?> constructor;
+
+        private CollectionResolver(Collection<?> source, Slots slots, Constructor<?> constructor) {
+            this.source = source;
+            this.slots = slots;
+            this.constructor = constructor;
+        }
+
+        static ValueResolver of(Collection<?> source) {
+            Slots slots = slots(source);
+            Constructor<?> constructor = publicConstructor(source.getClass());
+            if (!slots.hasReferences() && (constructor == null || SHAREABLE.contains(source.getClass()))
+                    && (source instanceof List || source instanceof Set)) {
+                return new ConstantResolver(immutableCopy(source, slots.literals()));
+            }
+            return new CollectionResolver(source, slots, constructor);
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) throws Exception {
+            Object[] values = new Object[this.slots.size()];
+            this.slots.fill(values, bf);
+            Collection<Object> target = this.constructor == null ? newCollection(this.source, values.length)
+                    : newCollection(this.source, this.constructor);
+            Collections.addAll(target, values);
+            return target;
+        }
+
+        private static Constructor<?> publicConstructor(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Collection<Object> newCollection(Collection<?> source, Constructor<?> constructor)
+                throws Exception {
+            if (source instanceof SortedSet && ((SortedSet<?>) source).comparator() != null) {
+                // 无参构造方法会丢失比较器
+                return newCollection(source, source.size());
+            }
+            return (Collection<Object>) constructor.newInstance();
+        }
+
+        /**
+         * 按源集合实现的接口选择默认实现：队列和双端队列用LinkedList(允许null元素)
+         */
+        @SuppressWarnings("unchecked")
+        private static Collection<Object> newCollection(Collection<?> source, int size) {
+            if (source instanceof SortedSet) {
+                return new TreeSet<>((Comparator<Object>) ((SortedSet<?>) source).comparator());
+            } else if (source instanceof Set) {
+                return new LinkedHashSet<>(size * 2);
+            } else if (source instanceof List) {
+                return new ArrayList<>(size);
+            } else if (source instanceof Queue) {
+                return new LinkedList<>();
+            }
+            return new ArrayList<>(size);
+        }
+
+        private static Collection<?> immutableCopy(Collection<?> source, Object[] literals) {
+            Collection<Object> copy = newCollection(source, literals.length);
+            Collections.addAll(copy, literals);
+            if (copy instanceof SortedSet) {
+                return Collections.unmodifiableSortedSet((SortedSet<Object>) copy);
+            } else if (copy instanceof Set) {
+                return Collections.unmodifiableSet((Set<Object>) copy);
+            }
+            return Collections.unmodifiableList((List<Object>) copy);
+        }
+    }
+
+    /**
+     * Map，键和值都可以是引用
+     */
+    static final class MapResolver extends ValueResolver {
+
+        private final Map<?, ?> source;
+
+        private final Slots keys;
+
+        private final Slots values;
+
+        private MapResolver(Map<?, ?> source, Slots keys, Slots values) {
+            this.source = source;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static ValueResolver of(Map<?, ?> source) {
+            Slots keys = slots(source.keySet());
+            Slots values = slots(source.values());
+            if (!keys.hasReferences() && !values.hasReferences()) {
+                Map<Object, Object> copy = newMap(source, keys.size());
+                put(copy, keys.literals(), values.literals());
+                return new ConstantResolver(copy instanceof SortedMap
+                        ? Collections.unmodifiableSortedMap((SortedMap<Object, Object>) copy)
+                        : Collections.unmodifiableMap(copy));
+            }
+            return new MapResolver(source, keys, values);
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) throws Exception {
+            Object[] ks = new Object[this.keys.size()];
+            Object[] vs = new Object[this.values.size()];
+            this.keys.fill(ks, bf);
+            this.values.fill(vs, bf);
+            Map<Object, Object> target = newMap(this.source, ks.length);
+            put(target, ks, vs);
+            return target;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<Object, Object> newMap(Map<?, ?> source, int size) {
+            if (source instanceof SortedMap) {
+                return new TreeMap<>((Comparator<Object>) ((SortedMap<?, ?>) source).comparator());
+            }
+            return new LinkedHashMap<>(size * 2);
+        }
+
+        private static void put(Map<Object, Object> target, Object[] keys, Object[] values) {
+            for (int i = 0; i < keys.length; i++) {
+                target.put(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Properties，值可以是引用，每次解析得到新的Properties
+     */
+    static final class PropertiesResolver extends ValueResolver {
+
+        private final Object[] keys;
+
+        private final Slots values;
+
+        PropertiesResolver(Properties source) {
+            List<Object> keys = new ArrayList<>(source.size());
+            List<Object> values = new ArrayList<>(source.size());
+            for (Map.Entry<Object, Object> e : source.entrySet()) {
+                keys.add(e.getKey());
+                values.add(e.getValue());
+            }
+            this.keys = keys.toArray();
+            this.values = slots(values);
+        }
+
+        @Override
+        public Object resolve(DefaultBeanFactory bf) throws Exception {
+            Object[] vs = new Object[this.values.size()];
+            this.values.fill(vs, bf);
+            Properties target = new Properties();
+            for (int i = 0; i < this.keys.length; i++) {
+                target.put(this.keys[i], vs[i]);
+            }
+            return target;
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return this.values.hasReferences();
+        }
+    }
+}
@@ -0,0 +1,492 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ConversionService.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.convert;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Description: 占位符解析和类型转换.
+ * <p>
+ * 字符串先解析 ${key} 和 ${key:默认值} 占位符(先查设置的属性，再查系统属性，可以嵌套)，再转换为目标类型。
+ * 内置基本类型及其包装类、BigDecimal/BigInteger、枚举、Duration、Class，
+ * 以及数组和集合(字符串按逗号拆分，元素按泛型参数转换)。
+ * 每对(源类型, 目标类型)只查找一次转换器，结果缓存在ConcurrentHashMap中，查询不加锁。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ConversionService {
+
+    private static final String PLACEHOLDER_PREFIX = "${";
+
+    private static final Pattern DURATION = Pattern.compile("(-?\\d+)\\s*(ns|us|ms|s|m|h|d)?");
+
+    /**
+     * 没有可用转换器的标记
+     */
+    private static final GenericConverter NO_CONVERTER = (service, value, targetType) -> {
+        throw new IllegalStateException();
+    };
+
+    private static final GenericConverter IDENTITY = (service, value, targetType) -> value;
+
+    private final Map<ConverterKey, Converter<Object, Object>> converters = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<ConverterKey, GenericConverter> cache = new ConcurrentHashMap<>(64);
+
+    private volatile Properties placeholderProperties = new Properties();
+
+    /**
+     * 设置占位符的取值来源
+     */
+    public void setPlaceholderProperties(Properties placeholderProperties) {
+        this.placeholderProperties = Objects.requireNonNull(placeholderProperties, "placeholderProperties不能为空");
+    }
+
+    /**
+     * 注册自定义转换器，优先于内置转换
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        this.converters.put(new ConverterKey(sourceType, ClassUtils.primitiveToWrapper(targetType)),
+                (Converter<Object, Object>) converter);
+        this.cache.clear();
+    }
+
+    /**
+     * 是否能把sourceType的值转换为targetType
+     */
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        return this.converterFor(sourceType, ClassUtils.primitiveToWrapper(targetType)) != NO_CONVERTER;
+    }
+
+    /**
+     * 转换值：字符串先解析占位符
+     *
+     * @param value 源值
+     * @param targetType 目标类型，可以带泛型参数
+     * @return 转换结果，已是目标类型且不需转换元素时返回原值
+     * @throws IllegalArgumentException 占位符无法解析或无法转换
+     */
+    public Object convert(Object value, Type targetType) {
+        if (value instanceof String) {
+            value = this.resolvePlaceholders((String) value);
+        }
+        Class<?> raw = rawClass(targetType);
+        if (value == null) {
+            if (raw.isPrimitive()) {
+                throw new IllegalArgumentException("null不能转换为" + raw.getName());
+            }
+            return null;
+        }
+        GenericConverter converter = this.converterFor(value.getClass(), ClassUtils.primitiveToWrapper(raw));
+        if (converter == NO_CONVERTER) {
+            throw new IllegalArgumentException("不能把" + value.getClass().getName() + "转换为" + targetType.getTypeName());
+        }
+        try {
+            return converter.convert(this, value, targetType);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("值[" + value + "]不能转换为" + targetType.getTypeName(), e);
+        }
+    }
+
+    /**
+     * 解析字符串中的占位符
+     *
+     * @throws IllegalArgumentException 占位符没有值也没有默认值，或循环引用
+     */
+    public String resolvePlaceholders(String text) {
+        if (text.indexOf(PLACEHOLDER_PREFIX) < 0) {
+            return text;
+        }
+        return this.resolvePlaceholders(text, new HashSet<>());
+    }
+
+    private String resolvePlaceholders(String text, Set<String> visiting) {
+        StringBuilder sb = new StringBuilder(text);
+        int start = sb.indexOf(PLACEHOLDER_PREFIX);
+        while (start >= 0) {
+            int end = findPlaceholderEnd(sb, start);
+            if (end < 0) {
+                break;
+            }
+            String placeholder = this.resolvePlaceholders(sb.substring(start + 2, end), visiting);
+            if (!visiting.add(placeholder)) {
+                throw new IllegalArgumentException("占位符循环引用：${" + placeholder + "}");
+            }
+            int colon = placeholder.indexOf(':');
+            String key = colon < 0 ? placeholder : placeholder.substring(0, colon);
+            String value = this.placeholderProperties.getProperty(key);
+            if (value == null) {
+                value = System.getProperty(key);
+            }
+            if (value == null && colon >= 0) {
+                value = placeholder.substring(colon + 1);
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("无法解析占位符${" + placeholder + "}：" + text);
+            }
+            value = this.resolvePlaceholders(value, visiting);
+            visiting.remove(placeholder);
+            sb.replace(start, end + 1, value);
+            start = sb.indexOf(PLACEHOLDER_PREFIX, start + value.length());
+        }
+        return sb.toString();
+    }
+
+    private static int findPlaceholderEnd(CharSequence s, int start) {
+        int depth = 0;
+        for (int i = start + 2; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '$' && i + 1 < s.length() && s.charAt(i + 1) == '{') {
+                depth++;
+                i++;
+            } else if (c == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    private GenericConverter converterFor(Class<?> sourceType, Class<?> targetType) {
+        ConverterKey key = new ConverterKey(sourceType, targetType);
+        GenericConverter converter = this.cache.get(key);
+        if (converter == null) {
+            converter = this.cache.computeIfAbsent(key, this::findConverter);
+        }
+        return converter;
+    }
+
+    private GenericConverter findConverter(ConverterKey key) {
+        Class<?> source = key.sourceType;
+        Class<?> target = key.targetType;
+        for (Class<?> s : ClassUtils.hierarchy(source, ClassUtils.Interfaces.INCLUDE)) {
+            Converter<Object, Object> custom = this.converters.get(new ConverterKey(s, target));
+            if (custom != null) {
+                return (service, value, targetType) -> custom.convert(value);
+            }
+        }
+
+        if (target.isArray()) {
+            if (source == String.class || source.isArray() || Collection.class.isAssignableFrom(source)) {
+                return ConversionService::toArray;
+            }
+            return NO_CONVERTER;
+        }
+        if (Collection.class.isAssignableFrom(target)
+                && (source == String.class || source.isArray() || Collection.class.isAssignableFrom(source))) {
+            return ConversionService::toCollection;
+        }
+        if (target.isAssignableFrom(source)) {
+            return IDENTITY;
+        }
+        if (source == String.class) {
+            return stringConverter(target);
+        }
+        if (Number.class.isAssignableFrom(source) && Number.class.isAssignableFrom(target)) {
+            GenericConverter fromString = stringConverter(target);
+            return fromString == NO_CONVERTER ? NO_CONVERTER
+                    : (service, value, targetType) -> fromString.convert(service, value.toString(), targetType);
+        }
+        if (target == String.class && (ClassUtils.isPrimitiveWrapper(source) || source.isEnum()
+                || Number.class.isAssignableFrom(source) || source == Duration.class)) {
+            return (service, value, targetType) -> value.toString();
+        }
+        return NO_CONVERTER;
+    }
+
+    private static GenericConverter stringConverter(Class<?> target) {
+        if (target == Integer.class) {
+            return (service, value, targetType) -> Integer.valueOf(((String) value).trim());
+        } else if (target == Long.class) {
+            return (service, value, targetType) -> Long.valueOf(((String) value).trim());
+        } else if (target == Short.class) {
+            return (service, value, targetType) -> Short.valueOf(((String) value).trim());
+        } else if (target == Byte.class) {
+            return (service, value, targetType) -> Byte.valueOf(((String) value).trim());
+        } else if (target == Double.class) {
+            return (service, value, targetType) -> Double.valueOf(((String) value).trim());
+        } else if (target == Float.class) {
+            return (service, value, targetType) -> Float.valueOf(((String) value).trim());
+        } else if (target == BigDecimal.class) {
+            return (service, value, targetType) -> new BigDecimal(((String) value).trim());
+        } else if (target == BigInteger.class) {
+            return (service, value, targetType) -> new BigInteger(((String) value).trim());
+        } else if (target == Boolean.class) {
+            return (service, value, targetType) -> toBoolean((String) value);
+        } else if (target == Character.class) {
+            return (service, value, targetType) -> {
+                String s = (String) value;
+                if (s.length() != 1) {
+                    throw new IllegalArgumentException("[" + s + "]不是单个字符");
+                }
+                return s.charAt(0);
+            };
+        } else if (target.isEnum()) {
+            return (service, value, targetType) -> toEnum(target, ((String) value).trim());
+        } else if (target == Duration.class) {
+            return (service, value, targetType) -> toDuration(((String) value).trim());
+        } else if (target == Class.class) {
+            return (service, value, targetType) -> {
+                try {
+                    return ClassUtils.getClass(Thread.currentThread().getContextClassLoader(), ((String) value).trim());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("找不到类" + value, e);
+                }
+            };
+        }
+        return NO_CONVERTER;
+    }
+
+    private static Boolean toBoolean(String s) {
+        switch (s.trim().toLowerCase()) {
+            case "true":
+            case "yes":
+            case "on":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "no":
+            case "off":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("[" + s + "]不是布尔值");
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object toEnum(Class<?> type, String name) {
+        try {
+            return Enum.valueOf((Class) type, name);
+        } catch (IllegalArgumentException e) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equalsIgnoreCase(name)) {
+                    return constant;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * ISO-8601格式(PT10S)，或数字加单位ns、us、ms、s、m、h、d，没有单位时为毫秒
+     */
+    private static Duration toDuration(String s) {
+        if (s.startsWith("P") || s.startsWith("p") || s.startsWith("-P") || s.startsWith("-p")) {
+            return Duration.parse(s);
+        }
+        Matcher m = DURATION.matcher(s);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("[" + s + "]不是时长");
+        }
+        long amount = Long.parseLong(m.group(1));
+        String unit = m.group(2) == null ? "ms" : m.group(2);
+        switch (unit) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.ofNanos(amount * 1000);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                return Duration.ofMillis(amount);
+        }
+    }
+
+    private static Object toArray(ConversionService service, Object value, Type targetType) {
+        Type elementType = elementType(targetType);
+        Class<?> componentType = rawClass(elementType);
+        if (value.getClass() == rawClass(targetType) && (componentType.isPrimitive()
+                || allInstances(Arrays.asList((Object[]) value), componentType))) {
+            return value;
+        }
+        List<?> elements = elements(value);
+        Object array = Array.newInstance(componentType, elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            Array.set(array, i, service.convert(elements.get(i), elementType));
+        }
+        return array;
+    }
+
+    private static Object toCollection(ConversionService service, Object value, Type targetType) {
+        Class<?> raw = rawClass(targetType);
+        Type elementType = elementType(targetType);
+        // 原始类型的集合元素类型为Object，同样要检查并解析其中的占位符
+        if (raw.isInstance(value) && allInstances((Collection<?>) value, rawClass(elementType))) {
+            return value;
+        }
+        List<?> elements = elements(value);
+        Collection<Object> result = newCollection(raw, elements.size());
+        for (Object element : elements) {
+            result.add(service.convert(element, elementType));
+        }
+        return result;
+    }
+
+    private static boolean allInstances(Collection<?> values, Class<?> type) {
+        if (type.isArray() || Collection.class.isAssignableFrom(type)) {
+            return false;
+        }
+        for (Object v : values) {
+            if (v != null && !type.isInstance(v) || v instanceof String && ((String) v).contains(PLACEHOLDER_PREFIX)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newCollection(Class<?> type, int size) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            try {
+                return (Collection<Object>) type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("无法创建集合" + type.getName(), e);
+            }
+        }
+        if (SortedSet.class.isAssignableFrom(type)) {
+            // 含NavigableSet
+            return new TreeSet<>();
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return new LinkedHashSet<>(size * 2);
+        }
+        if (Queue.class.isAssignableFrom(type)) {
+            // 含Deque，LinkedList允许null元素
+            return new LinkedList<>();
+        }
+        return new ArrayList<>(size);
+    }
+
+    /**
+     * 字符串按逗号拆分并去掉两端空白，数组和集合按顺序展开
+     */
+    private static List<?> elements(Object value) {
+        if (value instanceof String) {
+            String s = (String) value;
+            List<String> parts = new ArrayList<>();
+            if (!s.trim().isEmpty()) {
+                for (String part : s.split(",")) {
+                    parts.add(part.trim());
+                }
+            }
+            return parts;
+        }
+        if (value instanceof Collection) {
+            return new ArrayList<>((Collection<?>) value);
+        }
+        int length = Array.getLength(value);
+        List<Object> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            list.add(Array.get(value, i));
+        }
+        return list;
+    }
+
+    private static Type elementType(Type type) {
+        if (type instanceof GenericArrayType) {
+            return ((GenericArrayType) type).getGenericComponentType();
+        }
+        if (type instanceof Class && ((Class<?>) type).isArray()) {
+            return ((Class<?>) type).getComponentType();
+        }
+        if (type instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+            if (args.length == 1 && (args[0] instanceof Class || args[0] instanceof ParameterizedType)) {
+                return args[0];
+            }
+        }
+        return Object.class;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        return Object.class;
+    }
+
+    /**
+     * 转换实现，targetType带有泛型信息
+     */
+    @FunctionalInterface
+    private interface GenericConverter {
+
+        Object convert(ConversionService service, Object value, Type targetType);
+    }
+
+    private static final class ConverterKey {
+
+        private final Class<?> sourceType;
+
+        private final Class<?> targetType;
+
+        ConverterKey(Class<?> sourceType, Class<?> targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ConverterKey)) {
+                return false;
+            }
+            ConverterKey other = (ConverterKey) o;
+            return this.sourceType == other.sourceType && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.sourceType.hashCode() + this.targetType.hashCode();
+        }
+    }
+}
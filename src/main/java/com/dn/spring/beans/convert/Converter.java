@@ -0,0 +1,25 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：Converter.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.convert;
+
+/**
+ * Description: 把S类型的值转换为T类型.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * @param source 不为null的源值
+     * @return 转换结果
+     * @throws IllegalArgumentException 无法转换
+     */
+    T convert(S source);
+}
@@ -0,0 +1,68 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanFactoryMetrics.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.metrics;
+
+/**
+ * Description: bean工厂的指标记录SPI.
+ * <p>
+ * 耗时单位为纳秒。{@link #isEnabled()} 为false时bean工厂不会取时间，也不会调用记录方法，
+ * 默认的 {@link #NOOP} 没有任何开销。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public interface BeanFactoryMetrics {
+
+    BeanFactoryMetrics NOOP = new BeanFactoryMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordConstruction(String beanName, long nanos) {
+        }
+
+        @Override
+        public void recordInjection(String beanName, long nanos) {
+        }
+
+        @Override
+        public void recordInit(String beanName, long nanos) {
+        }
+
+        @Override
+        public void recordStartup(String beanName, long startNanos, long endNanos) {
+        }
+    };
+
+    /**
+     * 是否记录
+     */
+    boolean isEnabled();
+
+    /**
+     * 构造实例的耗时，不含其间创建依赖bean的耗时，每创建一个实例记录一次
+     */
+    void recordConstruction(String beanName, long nanos);
+
+    /**
+     * 属性注入的耗时，不含其间创建依赖bean的耗时
+     */
+    void recordInjection(String beanName, long nanos);
+
+    /**
+     * 初始化方法的耗时
+     */
+    void recordInit(String beanName, long nanos);
+
+    /**
+     * 预实例化单例时一个bean的起止时间(System.nanoTime)
+     */
+    void recordStartup(String beanName, long startNanos, long endNanos);
+}
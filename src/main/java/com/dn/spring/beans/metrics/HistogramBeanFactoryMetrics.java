@@ -0,0 +1,97 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：HistogramBeanFactoryMetrics.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Description: 按bean名记录直方图的指标实现.
+ * <p>
+ * 每个bean的直方图在第一次记录时创建，之后的记录不分配对象。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class HistogramBeanFactoryMetrics implements BeanFactoryMetrics {
+
+    private final ConcurrentHashMap<String, BeanHistograms> beans = new ConcurrentHashMap<>(256);
+
+    private final ConcurrentLinkedQueue<StartupEvent> startupTimeline = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private BeanHistograms histograms(String beanName) {
+        BeanHistograms h = beans.get(beanName);
+        if (h == null) {
+            h = beans.computeIfAbsent(beanName, k -> new BeanHistograms());
+        }
+        return h;
+    }
+
+    @Override
+    public void recordConstruction(String beanName, long nanos) {
+        histograms(beanName).construction.record(nanos);
+    }
+
+    @Override
+    public void recordInjection(String beanName, long nanos) {
+        histograms(beanName).injection.record(nanos);
+    }
+
+    @Override
+    public void recordInit(String beanName, long nanos) {
+        histograms(beanName).init.record(nanos);
+    }
+
+    @Override
+    public void recordStartup(String beanName, long startNanos, long endNanos) {
+        startupTimeline.add(new StartupEvent(beanName, Thread.currentThread().getName(), startNanos, endNanos));
+    }
+
+    /**
+     * 当前指标的快照
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, MetricsSnapshot.BeanSnapshot> snapshots = new LinkedHashMap<>(beans.size() * 2);
+        for (Map.Entry<String, BeanHistograms> e : beans.entrySet()) {
+            BeanHistograms h = e.getValue();
+            snapshots.put(e.getKey(), new MetricsSnapshot.BeanSnapshot(e.getKey(), h.construction.snapshot(),
+                    h.injection.snapshot(), h.init.snapshot()));
+        }
+        List<StartupEvent> timeline = new ArrayList<>(startupTimeline);
+        timeline.sort(Comparator.comparingLong(StartupEvent::getStartNanos));
+        return new MetricsSnapshot(snapshots, Collections.unmodifiableList(timeline));
+    }
+
+    /**
+     * 清空所有数据
+     */
+    public void reset() {
+        beans.clear();
+        startupTimeline.clear();
+    }
+
+    private static final class BeanHistograms {
+
+        private final LatencyHistogram construction = new LatencyHistogram();
+
+        private final LatencyHistogram injection = new LatencyHistogram();
+
+        private final LatencyHistogram init = new LatencyHistogram();
+    }
+}
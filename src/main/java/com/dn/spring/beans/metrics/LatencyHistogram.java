@@ -0,0 +1,158 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：LatencyHistogram.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Description: 对数-线性分桶的并发直方图(HdrHistogram的简化版).
+ * <p>
+ * 小于32的值各占一个桶，之后每个2的幂区间再等分为16个桶，相对误差不超过1/16。
+ * 记录只做原子自增，不分配对象。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 16;
+
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private static final int BUCKETS = (63 - 4) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一个值，负数按0记录
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+            // retry
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exp - 4;
+        return (exp - 4) * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * 桶的下界
+     */
+    static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exp = index / SUB_BUCKETS + 3;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return sub << (exp - 4);
+    }
+
+    /**
+     * 桶的上界(不含)
+     */
+    static long upperBound(int index) {
+        return index + 1 < BUCKETS ? lowerBound(index + 1) : Long.MAX_VALUE;
+    }
+
+    /**
+     * 当前数据的快照
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.get(), max.get());
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long sum;
+
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * 分位值，返回所在桶的上界(不超过最大值)
+         *
+         * @param percentile 0~100
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * count);
+            rank = Math.max(rank, 1);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i) - 1, max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", mean=" + (long) getMean() + ", p50=" + getValueAtPercentile(50) + ", p99="
+                    + getValueAtPercentile(99) + ", max=" + max;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：MetricsSnapshot.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description: 指标快照.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class MetricsSnapshot {
+
+    private final Map<String, BeanSnapshot> beans;
+
+    private final List<StartupEvent> startupTimeline;
+
+    MetricsSnapshot(Map<String, BeanSnapshot> beans, List<StartupEvent> startupTimeline) {
+        this.beans = Collections.unmodifiableMap(beans);
+        this.startupTimeline = startupTimeline;
+    }
+
+    /**
+     * 所有bean的指标
+     */
+    public Map<String, BeanSnapshot> getBeans() {
+        return beans;
+    }
+
+    /**
+     * 某个bean的指标，没有记录时返回null
+     */
+    public BeanSnapshot getBean(String beanName) {
+        return beans.get(beanName);
+    }
+
+    /**
+     * 启动时间线，按开始时间排序
+     */
+    public List<StartupEvent> getStartupTimeline() {
+        return startupTimeline;
+    }
+
+    /**
+     * 单个bean的指标
+     */
+    public static final class BeanSnapshot {
+
+        private final String beanName;
+
+        private final LatencyHistogram.Snapshot construction;
+
+        private final LatencyHistogram.Snapshot injection;
+
+        private final LatencyHistogram.Snapshot init;
+
+        BeanSnapshot(String beanName, LatencyHistogram.Snapshot construction, LatencyHistogram.Snapshot injection,
+                LatencyHistogram.Snapshot init) {
+            this.beanName = beanName;
+            this.construction = construction;
+            this.injection = injection;
+            this.init = init;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        /**
+         * 创建实例的次数
+         */
+        public long getCreationCount() {
+            return construction.getCount();
+        }
+
+        public LatencyHistogram.Snapshot getConstruction() {
+            return construction;
+        }
+
+        public LatencyHistogram.Snapshot getInjection() {
+            return injection;
+        }
+
+        public LatencyHistogram.Snapshot getInit() {
+            return init;
+        }
+
+        @Override
+        public String toString() {
+            return beanName + " [construction: " + construction + "; injection: " + injection + "; init: " + init
+                    + "]";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：StartupEvent.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.metrics;
+
+/**
+ * Description: 启动时间线上的一项：预实例化一个单例的起止时间.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class StartupEvent {
+
+    private final String beanName;
+
+    private final String threadName;
+
+    private final long startNanos;
+
+    private final long endNanos;
+
+    public StartupEvent(String beanName, String threadName, long startNanos, long endNanos) {
+        this.beanName = beanName;
+        this.threadName = threadName;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "StartupEvent [beanName=" + beanName + ", threadName=" + threadName + ", durationNanos="
+                + getDurationNanos() + "]";
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanDefinitionParseException.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.xml;
+
+import com.dn.spring.beans.BeanDefinitionRegistException;
+
+/**
+ * Description: 解析bean定义文件失败，消息中带有文件名和行号.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class BeanDefinitionParseException extends BeanDefinitionRegistException {
+
+    private static final long serialVersionUID = -2470612937612480335L;
+
+    private final String resourceName;
+
+    private final int lineNumber;
+
+    public BeanDefinitionParseException(String resourceName, int lineNumber, String mess) {
+        this(resourceName, lineNumber, mess, null);
+    }
+
+    public BeanDefinitionParseException(String resourceName, int lineNumber, String mess, Throwable e) {
+        super(resourceName + " 第" + lineNumber + "行：" + mess, e);
+        this.resourceName = resourceName;
+        this.lineNumber = lineNumber;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    /**
+     * 出错位置的行号，从1开始，未知时为-1
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
@@ -0,0 +1,403 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：XmlBeanDefinitionReader.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.beans.xml;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanDefinitionRegistException;
+import com.dn.spring.beans.BeanDefinitionRegistry;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PropertyValue;
+
+/**
+ * Description: XML bean定义读取器.
+ * <p>
+ * 用StAX流式解析，边读边注册，不构建DOM。格式：
+ * <pre>
+ * &lt;beans&gt;
+ *     &lt;bean id="a" class="x.A" scope="prototype" init-method="init" autowire="byType"&gt;
+ *         &lt;constructor-arg value="1" type="int"/&gt;
+ *         &lt;constructor-arg ref="b"/&gt;
+ *         &lt;property name="names"&gt;&lt;list&gt;&lt;value&gt;x&lt;/value&gt;&lt;ref bean="c"/&gt;&lt;/list&gt;&lt;/property&gt;
+ *     &lt;/bean&gt;
+ *     &lt;bean id="b" factory-bean="f" factory-method="create"/&gt;
+ * &lt;/beans&gt;
+ * </pre>
+ * 值元素可以是value、ref、null、list、set、map，map的entry以key属性为键，值的写法同property。
+ * 解析错误和注册错误都以 {@link BeanDefinitionParseException} 报出，带有所在行号。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class XmlBeanDefinitionReader {
+
+    private static final Log logger = LogFactory.getLog(XmlBeanDefinitionReader.class);
+
+    private static final int MIN_BATCH_SIZE = 256;
+
+    private final BeanDefinitionRegistry registry;
+
+    private final XMLInputFactory inputFactory;
+
+    private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+    /**
+     * 生成的配置中大量bean同类，类名只解析一次
+     */
+    private final Map<String, Class<?>> classes = new HashMap<>();
+
+    public XmlBeanDefinitionReader(BeanDefinitionRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "registry不能为空");
+        this.inputFactory = XMLInputFactory.newFactory();
+        // 不解析DTD和外部实体
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+    }
+
+    public void setClassLoader(ClassLoader classLoader) {
+        this.classLoader = Objects.requireNonNull(classLoader, "classLoader不能为空");
+        this.classes.clear();
+    }
+
+    /**
+     * 读取文件中的bean定义并注册
+     *
+     * @return 注册的bean定义数
+     */
+    public int loadBeanDefinitions(Path file) throws IOException, BeanDefinitionRegistException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return this.loadBeanDefinitions(in, file.toString());
+        }
+    }
+
+    /**
+     * 读取流中的bean定义并注册，出错位置之前的定义在出错时都已注册并保留(攒批未发布的定义在抛出前先注册)
+     *
+     * @param in 输入流，不关闭
+     * @param resourceName 用于错误信息的名字
+     * @return 注册的bean定义数
+     * @throws BeanDefinitionParseException 格式错误或注册失败
+     */
+    public int loadBeanDefinitions(InputStream in, String resourceName) throws BeanDefinitionRegistException {
+        XMLStreamReader reader = null;
+        Map<String, BeanDefinition> batch = new LinkedHashMap<>();
+        try {
+            reader = this.inputFactory.createXMLStreamReader(in);
+            int count = 0;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String element = reader.getLocalName();
+                if ("bean".equals(element)) {
+                    int line = reader.getLocation().getLineNumber();
+                    String id = reader.getAttributeValue(null, "id");
+                    GenericBeanDefinition bd = this.parseBean(reader, resourceName);
+                    this.register(id, bd, batch, resourceName, line);
+                    count++;
+                } else if (!"beans".equals(element)) {
+                    throw error(reader, resourceName, "不支持的元素<" + element + ">");
+                }
+            }
+            this.flush(batch, resourceName, reader.getLocation().getLineNumber());
+            logger.info("从 " + resourceName + " 读取了 " + count + " 个bean定义");
+            return count;
+        } catch (XMLStreamException e) {
+            int line = e.getLocation() == null ? -1 : e.getLocation().getLineNumber();
+            BeanDefinitionParseException error = new BeanDefinitionParseException(resourceName, line, e.getMessage(), e);
+            this.flushBeforeError(batch, resourceName, error);
+            throw error;
+        } catch (BeanDefinitionParseException e) {
+            this.flushBeforeError(batch, resourceName, e);
+            throw e;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.debug("关闭XML读取器异常", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 注册解析出的bean定义，攒批后通过 {@link BeanDefinitionRegistry#registerBeanDefinitions(Map)} 批量注册：
+     * 批的大小随注册中心已有的定义数增长，整体发布复制map的总开销与定义数成线性；
+     * 重名和定义不合法在入批时检查，错误仍能定位到行
+     */
+    private void register(String id, GenericBeanDefinition bd, Map<String, BeanDefinition> batch,
+            String resourceName, int line) throws BeanDefinitionRegistException {
+        if (!bd.validate()) {
+            throw new BeanDefinitionParseException(resourceName, line, "名字为[" + id + "] 的bean定义不合法：" + bd);
+        }
+        if (batch.containsKey(id) || this.registry.containsBeanDefinition(id)) {
+            throw new BeanDefinitionParseException(resourceName, line, "名字为[" + id + "] 的bean定义已存在");
+        }
+        batch.put(id, bd);
+        if (batch.size() >= MIN_BATCH_SIZE && batch.size() >= this.registry.getBeanDefinitionCount()) {
+            this.flush(batch, resourceName, line);
+        }
+    }
+
+    /**
+     * 注册并清空当前批。注册失败时同样清空，出错后不会再次注册同一批
+     */
+    private void flush(Map<String, BeanDefinition> batch, String resourceName, int line)
+            throws BeanDefinitionRegistException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.registry.registerBeanDefinitions(batch);
+        } catch (BeanDefinitionRegistException e) {
+            throw new BeanDefinitionParseException(resourceName, line, e.getMessage(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 出错时注册已入批的定义，出错位置之前的定义都保留。批中的定义入批时已校验，注册失败附加到原错误上
+     */
+    private void flushBeforeError(Map<String, BeanDefinition> batch, String resourceName,
+            BeanDefinitionParseException error) {
+        try {
+            this.flush(batch, resourceName, error.getLineNumber());
+        } catch (BeanDefinitionRegistException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * 解析一个bean元素，结束时位于它的结束标签
+     */
+    private GenericBeanDefinition parseBean(XMLStreamReader reader, String resourceName)
+            throws XMLStreamException, BeanDefinitionParseException {
+        if (StringUtils.isBlank(reader.getAttributeValue(null, "id"))) {
+            throw error(reader, resourceName, "bean元素缺少id属性");
+        }
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        String className = reader.getAttributeValue(null, "class");
+        if (StringUtils.isNotBlank(className)) {
+            try {
+                Class<?> beanClass = this.classes.get(className);
+                if (beanClass == null) {
+                    beanClass = Class.forName(className.trim(), false, this.classLoader);
+                    this.classes.put(className, beanClass);
+                }
+                bd.setBeanClass(beanClass);
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new BeanDefinitionParseException(resourceName, reader.getLocation().getLineNumber(),
+                        "找不到类" + className, e);
+            }
+        }
+        String scope = reader.getAttributeValue(null, "scope");
+        if (StringUtils.isNotBlank(scope)) {
+            bd.setScope(scope);
+        }
+        String autowire = reader.getAttributeValue(null, "autowire");
+        if (StringUtils.isNotBlank(autowire)) {
+            bd.setAutowireMode(autowire);
+        }
+        bd.setFactoryBeanName(StringUtils.trimToNull(reader.getAttributeValue(null, "factory-bean")));
+        bd.setFactoryMethodName(StringUtils.trimToNull(reader.getAttributeValue(null, "factory-method")));
+        bd.setInitMethodName(StringUtils.trimToNull(reader.getAttributeValue(null, "init-method")));
+        bd.setDestroyMethodName(StringUtils.trimToNull(reader.getAttributeValue(null, "destroy-method")));
+        bd.setResetMethodName(StringUtils.trimToNull(reader.getAttributeValue(null, "reset-method")));
+        bd.setLazyInit(Boolean.parseBoolean(reader.getAttributeValue(null, "lazy-init")));
+
+        List<Object> args = null;
+        List<PropertyValue> pvs = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String element = reader.getLocalName();
+            if ("constructor-arg".equals(element)) {
+                if (args == null) {
+                    args = new ArrayList<>();
+                }
+                args.add(this.parseValueHolder(reader, resourceName));
+            } else if ("property".equals(element)) {
+                String name = reader.getAttributeValue(null, "name");
+                if (StringUtils.isBlank(name)) {
+                    throw error(reader, resourceName, "property元素缺少name属性");
+                }
+                if (pvs == null) {
+                    pvs = new ArrayList<>();
+                }
+                pvs.add(new PropertyValue(name, this.parseValueHolder(reader, resourceName)));
+            } else {
+                throw error(reader, resourceName, "bean中不支持的元素<" + element + ">");
+            }
+        }
+        bd.setConstructorArgumentValues(args);
+        bd.setPropertyValues(pvs);
+        return bd;
+    }
+
+    /**
+     * constructor-arg或property：值在value/ref属性中，或是唯一的子元素
+     */
+    private Object parseValueHolder(XMLStreamReader reader, String resourceName)
+            throws XMLStreamException, BeanDefinitionParseException {
+        String element = reader.getLocalName();
+        String value = reader.getAttributeValue(null, "value");
+        String ref = reader.getAttributeValue(null, "ref");
+        if (value != null && ref != null) {
+            throw error(reader, resourceName, "<" + element + ">不能同时有value和ref属性");
+        }
+        if (value != null) {
+            Object result = this.convert(reader, resourceName, value, reader.getAttributeValue(null, "type"));
+            this.expectEnd(reader, resourceName, element);
+            return result;
+        }
+        if (ref != null) {
+            this.expectEnd(reader, resourceName, element);
+            return new BeanReference(ref);
+        }
+        if (reader.nextTag() != XMLStreamConstants.START_ELEMENT) {
+            throw error(reader, resourceName, "<" + element + ">缺少值");
+        }
+        Object result = this.parseValue(reader, resourceName);
+        this.expectEnd(reader, resourceName, element);
+        return result;
+    }
+
+    /**
+     * 解析值元素，结束时位于它的结束标签
+     */
+    private Object parseValue(XMLStreamReader reader, String resourceName)
+            throws XMLStreamException, BeanDefinitionParseException {
+        String element = reader.getLocalName();
+        switch (element) {
+            case "value": {
+                String type = reader.getAttributeValue(null, "type");
+                return this.convert(reader, resourceName, reader.getElementText(), type);
+            }
+            case "ref": {
+                String bean = reader.getAttributeValue(null, "bean");
+                if (StringUtils.isBlank(bean)) {
+                    throw error(reader, resourceName, "ref元素缺少bean属性");
+                }
+                this.expectEnd(reader, resourceName, element);
+                return new BeanReference(bean);
+            }
+            case "null":
+                this.expectEnd(reader, resourceName, element);
+                return null;
+            case "list":
+            case "set": {
+                List<Object> values = new ArrayList<>();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    values.add(this.parseValue(reader, resourceName));
+                }
+                return "set".equals(element) ? new LinkedHashSet<>(values) : values;
+            }
+            case "map": {
+                Map<Object, Object> map = new LinkedHashMap<>();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if (!"entry".equals(reader.getLocalName())) {
+                        throw error(reader, resourceName, "map中不支持的元素<" + reader.getLocalName() + ">");
+                    }
+                    String key = reader.getAttributeValue(null, "key");
+                    if (key == null) {
+                        throw error(reader, resourceName, "entry元素缺少key属性");
+                    }
+                    map.put(key, this.parseValueHolder(reader, resourceName));
+                }
+                return map;
+            }
+            default:
+                throw error(reader, resourceName, "不支持的值元素<" + element + ">");
+        }
+    }
+
+    private void expectEnd(XMLStreamReader reader, String resourceName, String element)
+            throws XMLStreamException, BeanDefinitionParseException {
+        if (reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            throw error(reader, resourceName, "<" + element + ">中有多余的元素<" + reader.getLocalName() + ">");
+        }
+    }
+
+    /**
+     * 按type属性转换字面值，没有type时为字符串
+     */
+    private Object convert(XMLStreamReader reader, String resourceName, String text, String type)
+            throws BeanDefinitionParseException {
+        if (StringUtils.isBlank(type)) {
+            return text;
+        }
+        String s = text.trim();
+        try {
+            switch (type.trim()) {
+                case "String":
+                case "java.lang.String":
+                    return text;
+                case "int":
+                case "java.lang.Integer":
+                    return Integer.valueOf(s);
+                case "long":
+                case "java.lang.Long":
+                    return Long.valueOf(s);
+                case "short":
+                case "java.lang.Short":
+                    return Short.valueOf(s);
+                case "byte":
+                case "java.lang.Byte":
+                    return Byte.valueOf(s);
+                case "double":
+                case "java.lang.Double":
+                    return Double.valueOf(s);
+                case "float":
+                case "java.lang.Float":
+                    return Float.valueOf(s);
+                case "boolean":
+                case "java.lang.Boolean":
+                    return Boolean.valueOf(s);
+                case "char":
+                case "java.lang.Character":
+                    if (s.length() != 1) {
+                        throw new IllegalArgumentException("不是单个字符");
+                    }
+                    return s.charAt(0);
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BeanDefinitionParseException(resourceName, reader.getLocation().getLineNumber(),
+                    "值[" + text + "]不能转换为" + type, e);
+        }
+        throw error(reader, resourceName, "不支持的值类型" + type);
+    }
+
+    private static BeanDefinitionParseException error(XMLStreamReader reader, String resourceName, String message) {
+        return new BeanDefinitionParseException(resourceName, reader.getLocation().getLineNumber(), message);
+    }
+}
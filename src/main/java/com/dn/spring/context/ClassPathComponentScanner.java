@@ -0,0 +1,295 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ClassPathComponentScanner.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.context;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanDefinitionRegistException;
+import com.dn.spring.beans.DefaultBeanFactory;
+
+/**
+ * Description: 类路径组件扫描器.
+ * <p>
+ * 在给定包下查找标注了 {@link Component} 的类，生成 {@link ScannedBeanDefinition}。
+ * 类文件由 {@link ComponentClassReader} 直接解析，不加载类；目录中的类文件内存映射读取，jar包中的条目由多个线程同时解压解析。
+ * 设置了缓存目录时，jar包的扫描结果按jar包内容的CRC32保存，jar包不变时直接读取结果。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ClassPathComponentScanner {
+
+    private static final Log logger = LogFactory.getLog(ClassPathComponentScanner.class);
+
+    private static final int CACHE_MAGIC = 0x444E4353;
+
+    private final ClassLoader classLoader;
+
+    private Path cacheDirectory;
+
+    public ClassPathComponentScanner() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    public ClassPathComponentScanner(ClassLoader classLoader) {
+        this.classLoader = Objects.requireNonNull(classLoader, "classLoader不能为空");
+    }
+
+    /**
+     * 设置jar包扫描结果的缓存目录，为null时不缓存
+     */
+    public void setCacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * 扫描并批量注册到bean工厂
+     *
+     * @return 注册的组件数
+     */
+    public int scan(DefaultBeanFactory bf, String... basePackages) throws IOException, BeanDefinitionRegistException {
+        Map<String, BeanDefinition> definitions = this.findComponents(basePackages);
+        bf.registerBeanDefinitions(definitions);
+        return definitions.size();
+    }
+
+    /**
+     * 扫描给定包(含子包)中的组件
+     *
+     * @param basePackages 包名
+     * @return bean名 -> bean定义，按类名排序
+     * @throws IOException 读取类路径失败
+     * @throws BeanDefinitionRegistException 组件的bean名重复
+     */
+    public Map<String, BeanDefinition> findComponents(String... basePackages)
+            throws IOException, BeanDefinitionRegistException {
+        long start = System.nanoTime();
+        List<ComponentMetadata> found = new ArrayList<>();
+        for (String basePackage : basePackages) {
+            String prefix = basePackage.replace('.', '/');
+            Enumeration<URL> roots = this.classLoader.getResources(prefix);
+            while (roots.hasMoreElements()) {
+                found.addAll(this.scanRoot(roots.nextElement(), prefix));
+            }
+        }
+        found.sort(Comparator.comparing(m -> m.className));
+
+        Map<String, BeanDefinition> definitions = new LinkedHashMap<>(found.size() * 2);
+        for (ComponentMetadata m : found) {
+            if (definitions.containsKey(m.beanName)) {
+                BeanDefinition existing = definitions.get(m.beanName);
+                if (existing instanceof ScannedBeanDefinition
+                        && ((ScannedBeanDefinition) existing).getBeanClassName().equals(m.className)) {
+                    // 包有重叠或同一个类出现在多个位置
+                    continue;
+                }
+                throw new BeanDefinitionRegistException("组件的bean名[" + m.beanName + "]重复：" + m.className);
+            }
+            definitions.put(m.beanName, m.toBeanDefinition(this.classLoader));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("扫描到 " + definitions.size() + " 个组件，耗时 " + (System.nanoTime() - start) / 1000000 + "ms");
+        }
+        return definitions;
+    }
+
+    private List<ComponentMetadata> scanRoot(URL root, String prefix) throws IOException {
+        if ("file".equals(root.getProtocol())) {
+            return this.scanDirectory(toPath(root));
+        }
+        if ("jar".equals(root.getProtocol())) {
+            URL jarUrl = ((JarURLConnection) root.openConnection()).getJarFileURL();
+            return this.scanJar(toPath(jarUrl), prefix);
+        }
+        logger.warn("不支持扫描的类路径：" + root);
+        return new ArrayList<>();
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("无法识别的路径：" + url, e);
+        }
+    }
+
+    private List<ComponentMetadata> scanDirectory(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            files = walk.filter(f -> f.getFileName().toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        try {
+            return files.parallelStream()
+                    .map(this::readClassFile)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ComponentMetadata readClassFile(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buf, file.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ComponentMetadata> scanJar(Path jar, String prefix) throws IOException {
+        Path cache = null;
+        if (this.cacheDirectory != null) {
+            cache = this.cacheDirectory.resolve(jar.getFileName() + "-" + Long.toHexString(checksum(jar)) + "-"
+                    + Integer.toHexString(prefix.hashCode()) + ".scan");
+            List<ComponentMetadata> cached = readCache(cache);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<ComponentMetadata> found;
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            List<ZipEntry> entries = zip.stream()
+                    .filter(e -> !e.isDirectory() && e.getName().startsWith(prefix) && e.getName().endsWith(".class"))
+                    .collect(Collectors.toList());
+            found = entries.parallelStream()
+                    .map(e -> readJarEntry(zip, e))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (cache != null) {
+            writeCache(cache, found);
+        }
+        return found;
+    }
+
+    private static ComponentMetadata readJarEntry(ZipFile zip, ZipEntry entry) {
+        try (InputStream in = zip.getInputStream(entry)) {
+            byte[] bytes = entry.getSize() >= 0 ? new byte[(int) entry.getSize()] : null;
+            if (bytes == null) {
+                bytes = readAll(in);
+            } else {
+                new DataInputStream(in).readFully(bytes);
+            }
+            return read(ByteBuffer.wrap(bytes), zip.getName() + "!/" + entry.getName());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static ComponentMetadata read(ByteBuffer buf, String location) {
+        try {
+            return ComponentClassReader.read(buf);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            logger.warn("无法解析类文件，跳过：" + location, e);
+            return null;
+        }
+    }
+
+    /**
+     * jar包内容的CRC32，内存映射读取
+     */
+    private static long checksum(Path jar) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static List<ComponentMetadata> readCache(Path cache) {
+        if (!Files.isRegularFile(cache)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache)))) {
+            if (in.readInt() != CACHE_MAGIC) {
+                return null;
+            }
+            int count = in.readInt();
+            List<ComponentMetadata> found = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                found.add(ComponentMetadata.read(in));
+            }
+            return found;
+        } catch (IOException e) {
+            logger.warn("读取扫描缓存失败，重新扫描：" + cache, e);
+            return null;
+        }
+    }
+
+    /**
+     * 先写临时文件再改名，并发扫描的进程不会读到写了一半的缓存
+     */
+    private static void writeCache(Path cache, List<ComponentMetadata> found) {
+        try {
+            Files.createDirectories(cache.getParent());
+            Path tmp = Files.createTempFile(cache.getParent(), cache.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(found.size());
+                for (ComponentMetadata m : found) {
+                    m.write(out);
+                }
+            }
+            Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("写出扫描缓存失败：" + cache, e);
+        }
+    }
+}
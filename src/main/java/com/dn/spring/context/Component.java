@@ -0,0 +1,48 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：Component.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.dn.spring.beans.BeanDefinition;
+
+/**
+ * Description: 标记由 {@link ClassPathComponentScanner} 发现并注册的组件.
+ * <p>
+ * 扫描器直接从字节码读取注解的属性，属性值只能是常量。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Component {
+
+    /**
+     * bean名，默认为首字母小写的类名
+     */
+    String value() default "";
+
+    String scope() default BeanDefinition.SCOPE_SINGLETION;
+
+    boolean lazyInit() default false;
+
+    /**
+     * 组件没有显式的依赖定义，默认按类型自动装配
+     */
+    String autowireMode() default BeanDefinition.AUTOWIRE_BY_TYPE;
+
+    String initMethod() default "";
+
+    String destroyMethod() default "";
+}
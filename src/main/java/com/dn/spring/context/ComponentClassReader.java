@@ -0,0 +1,251 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ComponentClassReader.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Description: 只读取组件注解的轻量字节码解析器.
+ * <p>
+ * 不加载类：记下常量池每一项的位置，跳过字段和方法，只解析类上的 RuntimeVisibleAnnotations，
+ * 字符串常量用到时才解码。接口、抽象类和注解类型不是组件。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class ComponentClassReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private static final String COMPONENT_DESCRIPTOR = "L" + Component.class.getName().replace('.', '/') + ";";
+
+    private static final String ANNOTATIONS_ATTRIBUTE = "RuntimeVisibleAnnotations";
+
+    private final ByteBuffer buf;
+
+    /**
+     * 常量池各项内容的起始位置(跳过tag)
+     */
+    private final int[] offsets;
+
+    private ComponentClassReader(ByteBuffer buf, int[] offsets) {
+        this.buf = buf;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 读取类文件
+     *
+     * @param buf 类文件内容，从position开始
+     * @return 组件信息，不是组件时为null
+     * @throws IllegalArgumentException 不是合法的类文件
+     */
+    static ComponentMetadata read(ByteBuffer buf) {
+        int base = buf.position();
+        if (buf.remaining() < 10 || buf.getInt(base) != MAGIC) {
+            throw new IllegalArgumentException("不是类文件");
+        }
+        int count = buf.getShort(base + 8) & 0xFFFF;
+        int[] offsets = new int[count];
+        int p = base + 10;
+        for (int i = 1; i < count; i++) {
+            int tag = buf.get(p) & 0xFF;
+            offsets[i] = p + 1;
+            switch (tag) {
+                case 1: // Utf8
+                    p += 3 + (buf.getShort(p + 1) & 0xFFFF);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    p += 5;
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    p += 9;
+                    i++;
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    p += 3;
+                    break;
+                case 15: // MethodHandle
+                    p += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("无法识别的常量池项：" + tag);
+            }
+        }
+        ComponentClassReader reader = new ComponentClassReader(buf, offsets);
+
+        int access = buf.getShort(p) & 0xFFFF;
+        if ((access & (ACC_INTERFACE | ACC_ABSTRACT)) != 0) {
+            return null;
+        }
+        String className = reader.utf8(buf.getShort(reader.offsets[buf.getShort(p + 2) & 0xFFFF]) & 0xFFFF);
+        p += 6;
+        p += 2 + 2 * (buf.getShort(p) & 0xFFFF);
+        p = reader.skipMembers(p);
+        p = reader.skipMembers(p);
+
+        int attributes = buf.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < attributes; i++) {
+            int length = buf.getInt(p + 2);
+            if (reader.utf8Equals(buf.getShort(p) & 0xFFFF, ANNOTATIONS_ATTRIBUTE)) {
+                return reader.readComponent(p + 6, className.replace('/', '.'));
+            }
+            p += 6 + length;
+        }
+        return null;
+    }
+
+    private int skipMembers(int p) {
+        int count = this.buf.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < count; i++) {
+            int attributes = this.buf.getShort(p + 6) & 0xFFFF;
+            p += 8;
+            for (int j = 0; j < attributes; j++) {
+                p += 6 + this.buf.getInt(p + 2);
+            }
+        }
+        return p;
+    }
+
+    private ComponentMetadata readComponent(int p, String className) {
+        int annotations = this.buf.getShort(p) & 0xFFFF;
+        p += 2;
+        for (int i = 0; i < annotations; i++) {
+            if (!this.utf8Equals(this.buf.getShort(p) & 0xFFFF, COMPONENT_DESCRIPTOR)) {
+                p = this.skipAnnotation(p);
+                continue;
+            }
+            String value = null;
+            String scope = null;
+            boolean lazyInit = false;
+            String autowireMode = null;
+            String initMethod = null;
+            String destroyMethod = null;
+            int pairs = this.buf.getShort(p + 2) & 0xFFFF;
+            p += 4;
+            for (int j = 0; j < pairs; j++) {
+                String name = this.utf8(this.buf.getShort(p) & 0xFFFF);
+                int tag = this.buf.get(p + 2);
+                int index = this.buf.getShort(p + 3) & 0xFFFF;
+                if (tag == 's') {
+                    String s = this.utf8(index);
+                    if ("value".equals(name)) {
+                        value = s;
+                    } else if ("scope".equals(name)) {
+                        scope = s;
+                    } else if ("autowireMode".equals(name)) {
+                        autowireMode = s;
+                    } else if ("initMethod".equals(name)) {
+                        initMethod = s;
+                    } else if ("destroyMethod".equals(name)) {
+                        destroyMethod = s;
+                    }
+                } else if (tag == 'Z' && "lazyInit".equals(name)) {
+                    lazyInit = this.buf.getInt(this.offsets[index]) != 0;
+                }
+                p = this.skipElementValue(p + 2);
+            }
+            return new ComponentMetadata(className, value, scope, lazyInit, autowireMode, initMethod,
+                    destroyMethod);
+        }
+        return null;
+    }
+
+    private int skipAnnotation(int p) {
+        int pairs = this.buf.getShort(p + 2) & 0xFFFF;
+        p += 4;
+        for (int i = 0; i < pairs; i++) {
+            p = this.skipElementValue(p + 2);
+        }
+        return p;
+    }
+
+    private int skipElementValue(int p) {
+        int tag = this.buf.get(p);
+        switch (tag) {
+            case 'e':
+                return p + 5;
+            case '@':
+                return this.skipAnnotation(p + 1);
+            case '[':
+                int count = this.buf.getShort(p + 1) & 0xFFFF;
+                p += 3;
+                for (int i = 0; i < count; i++) {
+                    p = this.skipElementValue(p);
+                }
+                return p;
+            default:
+                return p + 3;
+        }
+    }
+
+    /**
+     * 与给定ASCII字符串比较，不解码
+     */
+    private boolean utf8Equals(int index, String s) {
+        int p = this.offsets[index];
+        int length = this.buf.getShort(p) & 0xFFFF;
+        if (length != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.buf.get(p + 2 + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String utf8(int index) {
+        int p = this.offsets[index];
+        int length = this.buf.getShort(p) & 0xFFFF;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            byte b = this.buf.get(p + 2 + i);
+            if (b < 0) {
+                return this.decodeModifiedUtf8(p, length);
+            }
+            chars[i] = (char) b;
+        }
+        return new String(chars);
+    }
+
+    private String decodeModifiedUtf8(int p, int length) {
+        byte[] bytes = new byte[length + 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = this.buf.get(p + i);
+        }
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ComponentMetadata.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.context;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.dn.spring.beans.BeanDefinition;
+
+/**
+ * Description: 从字节码读出的组件信息，未加载类.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+final class ComponentMetadata {
+
+    final String className;
+
+    final String beanName;
+
+    final String scope;
+
+    final boolean lazyInit;
+
+    final String autowireMode;
+
+    final String initMethod;
+
+    final String destroyMethod;
+
+    ComponentMetadata(String className, String beanName, String scope, boolean lazyInit, String autowireMode,
+            String initMethod, String destroyMethod) {
+        this.className = className;
+        this.beanName = StringUtils.isBlank(beanName) ? defaultBeanName(className) : beanName;
+        this.scope = scope == null ? BeanDefinition.SCOPE_SINGLETION : scope;
+        this.lazyInit = lazyInit;
+        this.autowireMode = autowireMode == null ? BeanDefinition.AUTOWIRE_BY_TYPE : autowireMode;
+        this.initMethod = StringUtils.defaultIfBlank(initMethod, null);
+        this.destroyMethod = StringUtils.defaultIfBlank(destroyMethod, null);
+    }
+
+    ScannedBeanDefinition toBeanDefinition(ClassLoader classLoader) {
+        ScannedBeanDefinition bd = new ScannedBeanDefinition(this.className, classLoader);
+        bd.setScope(this.scope);
+        bd.setLazyInit(this.lazyInit);
+        bd.setAutowireMode(this.autowireMode);
+        bd.setInitMethodName(this.initMethod);
+        bd.setDestroyMethodName(this.destroyMethod);
+        return bd;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(this.className);
+        out.writeUTF(this.beanName);
+        out.writeUTF(this.scope);
+        out.writeBoolean(this.lazyInit);
+        out.writeUTF(this.autowireMode);
+        out.writeUTF(StringUtils.defaultString(this.initMethod));
+        out.writeUTF(StringUtils.defaultString(this.destroyMethod));
+    }
+
+    static ComponentMetadata read(DataInput in) throws IOException {
+        return new ComponentMetadata(in.readUTF(), in.readUTF(), in.readUTF(), in.readBoolean(), in.readUTF(),
+                in.readUTF(), in.readUTF());
+    }
+
+    /**
+     * 首字母小写的简单类名，内部类取$之后的部分
+     */
+    private static String defaultBeanName(String className) {
+        String simple = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+        return StringUtils.uncapitalize(simple);
+    }
+}
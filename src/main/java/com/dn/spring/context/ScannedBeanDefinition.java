@@ -0,0 +1,60 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ScannedBeanDefinition.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package com.dn.spring.context;
+
+import com.dn.spring.beans.BeanCreationException;
+import com.dn.spring.beans.GenericBeanDefinition;
+
+/**
+ * Description: 扫描得到的bean定义.
+ * <p>
+ * 只记录类名，第一次需要bean类时才加载：扫描、校验和注册都不加载类，
+ * 第一次按类型查找bean或创建bean时才加载。
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ScannedBeanDefinition extends GenericBeanDefinition {
+
+    private final String beanClassName;
+
+    private final ClassLoader classLoader;
+
+    public ScannedBeanDefinition(String beanClassName, ClassLoader classLoader) {
+        this.beanClassName = beanClassName;
+        this.classLoader = classLoader;
+    }
+
+    public String getBeanClassName() {
+        return beanClassName;
+    }
+
+    @Override
+    public boolean hasBeanClass() {
+        return true;
+    }
+
+    @Override
+    public boolean isBeanClassResolved() {
+        return super.getBeanClass() != null;
+    }
+
+    @Override
+    public Class<?> getBeanClass() {
+        Class<?> beanClass = super.getBeanClass();
+        if (beanClass == null) {
+            try {
+                beanClass = Class.forName(this.beanClassName, false, this.classLoader);
+            } catch (ClassNotFoundException e) {
+                throw new BeanCreationException("加载组件类失败：" + this.beanClassName, e);
+            }
+            this.setBeanClass(beanClass);
+        }
+        return beanClass;
+    }
+}
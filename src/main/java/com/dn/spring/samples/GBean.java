@@ -0,0 +1,14 @@
+package com.dn.spring.samples;
+
+public class GBean {
+
+	private HBean hBean;
+
+	public HBean gethBean() {
+		return hBean;
+	}
+
+	public void sethBean(HBean hBean) {
+		this.hBean = hBean;
+	}
+}
@@ -0,0 +1,14 @@
+package com.dn.spring.samples;
+
+public class HBean {
+
+	private GBean gBean;
+
+	public GBean getgBean() {
+		return gBean;
+	}
+
+	public void setgBean(GBean gBean) {
+		this.gBean = gBean;
+	}
+}
@@ -0,0 +1,31 @@
+package com.dn.spring.samples;
+
+public class IBean {
+
+	private StringBuilder buffer = new StringBuilder();
+
+	private int resetCount;
+
+	private boolean destroyed;
+
+	public StringBuilder getBuffer() {
+		return buffer;
+	}
+
+	public void reset() {
+		buffer.setLength(0);
+		resetCount++;
+	}
+
+	public void destroy() {
+		destroyed = true;
+	}
+
+	public int getResetCount() {
+		return resetCount;
+	}
+
+	public boolean isDestroyed() {
+		return destroyed;
+	}
+}
@@ -0,0 +1,18 @@
+package com.dn.spring.samples;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class JBean implements Supplier<String> {
+
+	public static final AtomicInteger CREATED = new AtomicInteger();
+
+	public JBean() {
+		CREATED.incrementAndGet();
+	}
+
+	@Override
+	public String get() {
+		return "jbean";
+	}
+}
@@ -0,0 +1,16 @@
+package com.dn.spring.samples;
+
+import java.util.function.Supplier;
+
+public class KBean {
+
+	private Supplier<String> jBean;
+
+	public Supplier<String> getjBean() {
+		return jBean;
+	}
+
+	public void setjBean(Supplier<String> jBean) {
+		this.jBean = jBean;
+	}
+}
@@ -0,0 +1,23 @@
+package com.dn.spring.samples;
+
+import java.util.concurrent.CountDownLatch;
+
+public class LBean {
+
+	private final CountDownLatch gate;
+
+	private volatile boolean warmed;
+
+	public LBean(CountDownLatch gate) {
+		this.gate = gate;
+	}
+
+	public void init() throws InterruptedException {
+		gate.await();
+		warmed = true;
+	}
+
+	public boolean isWarmed() {
+		return warmed;
+	}
+}
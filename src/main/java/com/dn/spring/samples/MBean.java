@@ -0,0 +1,20 @@
+package com.dn.spring.samples;
+
+public class MBean {
+
+	private LBean lBean;
+
+	private boolean lBeanWarmed;
+
+	public void init() {
+		lBeanWarmed = lBean.isWarmed();
+	}
+
+	public LBean getlBean() {
+		return lBean;
+	}
+
+	public boolean islBeanWarmed() {
+		return lBeanWarmed;
+	}
+}
@@ -0,0 +1,32 @@
+package com.dn.spring.samples;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class NBean {
+
+	public static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+	private String name;
+
+	private NBean dependency;
+
+	private NBean other;
+
+	private long destroyMillis;
+
+	public void destroy() throws InterruptedException {
+		if (destroyMillis > 0) {
+			Thread.sleep(destroyMillis);
+		}
+		DESTROYED.add(name);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public NBean getDependency() {
+		return dependency;
+	}
+}
@@ -0,0 +1,37 @@
+package com.dn.spring.samples;
+
+import java.util.function.Supplier;
+
+public class OBean {
+
+	private FBean fbean;
+
+	private Supplier<String> supplier;
+
+	private CBean cbean;
+
+	private String label;
+
+	public OBean() {
+	}
+
+	public OBean(FBean fbean) {
+		this.fbean = fbean;
+	}
+
+	public FBean getFbean() {
+		return fbean;
+	}
+
+	public Supplier<String> getSupplier() {
+		return supplier;
+	}
+
+	public CBean getCbean() {
+		return cbean;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+}
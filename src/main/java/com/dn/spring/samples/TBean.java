@@ -0,0 +1,56 @@
+package com.dn.spring.samples;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TBean {
+
+	private int port;
+
+	private TimeUnit unit;
+
+	private Duration timeout;
+
+	private List<Integer> weights;
+
+	private String[] hosts;
+
+	private boolean enabled;
+
+	public TBean() {
+	}
+
+	public TBean(int port, Duration timeout) {
+		this.port = port;
+		this.timeout = timeout;
+	}
+
+	public static TBean create(long port) {
+		return new TBean((int) port, null);
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public TimeUnit getUnit() {
+		return unit;
+	}
+
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	public List<Integer> getWeights() {
+		return weights;
+	}
+
+	public String[] getHosts() {
+		return hosts;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+}
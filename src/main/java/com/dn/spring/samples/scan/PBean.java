@@ -0,0 +1,11 @@
+package com.dn.spring.samples.scan;
+
+import com.dn.spring.context.Component;
+
+@Component("pbean")
+public class PBean {
+
+	public String hello() {
+		return "hello";
+	}
+}
@@ -0,0 +1,14 @@
+package com.dn.spring.samples.scan;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.context.Component;
+
+@Component(scope = BeanDefinition.SCOPE_PROTOTYPE)
+public class QBean {
+
+	private PBean pbean;
+
+	public PBean getPbean() {
+		return pbean;
+	}
+}
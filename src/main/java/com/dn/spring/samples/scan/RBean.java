@@ -0,0 +1,7 @@
+package com.dn.spring.samples.scan;
+
+import com.dn.spring.context.Component;
+
+@Component
+public abstract class RBean {
+}
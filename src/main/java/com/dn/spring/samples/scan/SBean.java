@@ -0,0 +1,5 @@
+package com.dn.spring.samples.scan;
+
+@Deprecated
+public class SBean {
+}
@@ -0,0 +1,80 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BenchmarkBeans.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.List;
+
+/**
+ * Description: 基准测试使用的bean，构造和初始化没有输出.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public final class BenchmarkBeans {
+
+    private BenchmarkBeans() {
+    }
+
+    public static class Leaf {
+    }
+
+    public static class Product {
+
+        private final String name;
+
+        private final Leaf leaf;
+
+        public Product(String name, Leaf leaf) {
+            this.name = name;
+            this.leaf = leaf;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Leaf getLeaf() {
+            return leaf;
+        }
+    }
+
+    public static class ProductFactory {
+
+        public static Product create(String name, Leaf leaf) {
+            return new Product(name, leaf);
+        }
+
+        public Product build(String name, Leaf leaf) {
+            return new Product(name, leaf);
+        }
+    }
+
+    /**
+     * 依赖链上的一个节点：next 指向下一层，items 引用 width 个叶子
+     */
+    public static class ChainNode {
+
+        private ChainNode next;
+
+        private List<Object> items;
+
+        private int level;
+
+        public ChainNode getNext() {
+            return next;
+        }
+
+        public List<Object> getItems() {
+            return items;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：FrozenLookupBenchmark.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.FBean;
+
+/**
+ * Description: 冻结前后热点单例getBean的对比.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrozenLookupBenchmark {
+
+    @Param({"10000"})
+    public int beans;
+
+    @Param({"false", "true"})
+    public boolean frozen;
+
+    private PreBuildBeanFactory bf;
+
+    private String[] names;
+
+    @Setup
+    public void setup() throws Exception {
+        bf = new PreBuildBeanFactory();
+        names = new String[beans];
+        for (int i = 0; i < beans; i++) {
+            names[i] = "bean" + i;
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(FBean.class);
+            bf.registerBeanDefinition(names[i], bd);
+        }
+        bf.preInstantiateSingletons();
+        if (frozen) {
+            bf.freeze();
+        }
+    }
+
+    @Benchmark
+    public Object hotSingleton() throws Exception {
+        return bf.getBean(names[ThreadLocalRandom.current().nextInt(64)]);
+    }
+
+    @Benchmark
+    public Object randomSingleton() throws Exception {
+        return bf.getBean(names[ThreadLocalRandom.current().nextInt(beans)]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(FrozenLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
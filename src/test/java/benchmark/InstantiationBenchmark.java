@@ -0,0 +1,91 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：InstantiationBenchmark.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.DefaultBeanFactory;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.MethodHandleInstantiationStrategy;
+import com.dn.spring.beans.ReflectiveInstantiationStrategy;
+import com.dn.spring.samples.CBean;
+import com.dn.spring.samples.FBean;
+
+/**
+ * Description: 原型bean实例化，反射与MethodHandle两种策略的对比.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+
+    @Param({"reflective", "methodHandle"})
+    public String strategy;
+
+    private DefaultBeanFactory bf;
+
+    @Setup
+    public void setup() throws Exception {
+        bf = new DefaultBeanFactory();
+        if ("reflective".equals(strategy)) {
+            bf.setInstantiationStrategy(new ReflectiveInstantiationStrategy());
+        } else {
+            bf.setInstantiationStrategy(new MethodHandleInstantiationStrategy());
+        }
+
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(FBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bf.registerBeanDefinition("noArg", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(CBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<Object> args = new ArrayList<>();
+        args.add("cbean");
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("withArg", bd);
+    }
+
+    @Benchmark
+    public Object noArgConstructor() throws Exception {
+        return bf.getBean("noArg");
+    }
+
+    @Benchmark
+    public Object argConstructor() throws Exception {
+        return bf.getBean("withArg");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(InstantiationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：PropertyDiBenchmark.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+
+/**
+ * Description: 属性注入链：depth 层原型bean通过 next 属性相连，每层的 items 引用 width 个单例.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyDiBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int depth;
+
+    @Param({"1", "8", "32"})
+    public int width;
+
+    private PreBuildBeanFactory bf;
+
+    @Setup
+    public void setup() throws Exception {
+        bf = new PreBuildBeanFactory();
+        for (int i = 0; i < width; i++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(BenchmarkBeans.Leaf.class);
+            bf.registerBeanDefinition("leaf" + i, bd);
+        }
+
+        for (int level = 0; level < depth; level++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(BenchmarkBeans.ChainNode.class);
+            bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < width; i++) {
+                items.add(new BeanReference("leaf" + i));
+            }
+            List<PropertyValue> pvs = new ArrayList<>();
+            pvs.add(new PropertyValue("level", level));
+            pvs.add(new PropertyValue("items", items));
+            if (level + 1 < depth) {
+                pvs.add(new PropertyValue("next", new BeanReference("node" + (level + 1))));
+            }
+            bd.setPropertyValues(pvs);
+            bf.registerBeanDefinition("node" + level, bd);
+        }
+        bf.preInstantiateSingletons();
+    }
+
+    @Benchmark
+    public Object wireChain() throws Exception {
+        return bf.getBean("node0");
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：PrototypeCreationBenchmark.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+
+/**
+ * Description: 三种方式创建原型bean：构造方法、静态工厂方法、工厂bean.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeCreationBenchmark {
+
+    private PreBuildBeanFactory bf;
+
+    @Setup
+    public void setup() throws Exception {
+        bf = new PreBuildBeanFactory();
+
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(BenchmarkBeans.Leaf.class);
+        bf.registerBeanDefinition("leaf", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(BenchmarkBeans.ProductFactory.class);
+        bf.registerBeanDefinition("productFactory", bd);
+
+        bd = prototype();
+        bd.setBeanClass(BenchmarkBeans.Product.class);
+        bf.registerBeanDefinition("byConstructor", bd);
+
+        bd = prototype();
+        bd.setBeanClass(BenchmarkBeans.ProductFactory.class);
+        bd.setFactoryMethodName("create");
+        bf.registerBeanDefinition("byStaticFactoryMethod", bd);
+
+        bd = prototype();
+        bd.setFactoryBeanName("productFactory");
+        bd.setFactoryMethodName("build");
+        bf.registerBeanDefinition("byFactoryBean", bd);
+
+        bf.preInstantiateSingletons();
+    }
+
+    private static GenericBeanDefinition prototype() {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<Object> args = new ArrayList<>();
+        args.add("product");
+        args.add(new BeanReference("leaf"));
+        bd.setConstructorArgumentValues(args);
+        return bd;
+    }
+
+    @Benchmark
+    public Object constructor() throws Exception {
+        return bf.getBean("byConstructor");
+    }
+
+    @Benchmark
+    public Object staticFactoryMethod() throws Exception {
+        return bf.getBean("byStaticFactoryMethod");
+    }
+
+    @Benchmark
+    public Object factoryBean() throws Exception {
+        return bf.getBean("byFactoryBean");
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：RegistrationBenchmark.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+
+/**
+ * Description: 注册bean定义的吞吐，每次操作向新工厂注册 definitions 个定义.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int definitions;
+
+    private String[] names;
+
+    private GenericBeanDefinition[] bds;
+
+    private Map<String, BeanDefinition> batch;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        names = new String[definitions];
+        bds = new GenericBeanDefinition[definitions];
+        batch = new LinkedHashMap<>(definitions * 2);
+        for (int i = 0; i < definitions; i++) {
+            names[i] = "bean" + i;
+            bds[i] = new GenericBeanDefinition();
+            bds[i].setBeanClass(BenchmarkBeans.Leaf.class);
+            batch.put(names[i], bds[i]);
+        }
+    }
+
+    @Benchmark
+    public PreBuildBeanFactory registerBeanDefinition() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        for (int i = 0; i < definitions; i++) {
+            bf.registerBeanDefinition(names[i], bds[i]);
+        }
+        return bf;
+    }
+
+    @Benchmark
+    public PreBuildBeanFactory registerBeanDefinitions() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinitions(batch);
+        return bf;
+    }
+}
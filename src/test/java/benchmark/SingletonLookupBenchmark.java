@@ -0,0 +1,86 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：SingletonLookupBenchmark.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+
+/**
+ * Description: 热点单例getBean，分别以1、4和全部CPU个线程并发.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonLookupBenchmark {
+
+    private static final int HOT = 64;
+
+    @Param({"1000"})
+    public int beans;
+
+    private PreBuildBeanFactory bf;
+
+    private String[] names;
+
+    @Setup
+    public void setup() throws Exception {
+        bf = new PreBuildBeanFactory();
+        names = new String[beans];
+        for (int i = 0; i < beans; i++) {
+            names[i] = "bean" + i;
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(BenchmarkBeans.Leaf.class);
+            bf.registerBeanDefinition(names[i], bd);
+        }
+        bf.preInstantiateSingletons();
+    }
+
+    private Object lookup() throws Exception {
+        return bf.getBean(names[ThreadLocalRandom.current().nextInt(HOT)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object getBean1Thread() throws Exception {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object getBean4Threads() throws Exception {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object getBeanMaxThreads() throws Exception {
+        return lookup();
+    }
+}
@@ -1,15 +1,22 @@
 package v2;
 
+import com.dn.spring.beans.BeanCurrentlyInCreationException;
 import com.dn.spring.beans.BeanReference;
 import com.dn.spring.beans.GenericBeanDefinition;
 import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
 import com.dn.spring.samples.DBean;
 import com.dn.spring.samples.EBean;
+import com.dn.spring.samples.GBean;
+import com.dn.spring.samples.HBean;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 public class CirculationDiTest {
 
 	static PreBuildBeanFactory bf = new PreBuildBeanFactory();
@@ -30,6 +37,35 @@ public class CirculationDiTest {
 		bd.setConstructorArgumentValues(args);
 		bf.registerBeanDefinition("ebean", bd);
 
-		bf.preInstantiateSingletons();
+		// 构造循环依赖无法解决，报出完整的循环路径
+		try {
+			bf.getBean("dbean");
+			throw new AssertionError("构造循环依赖应该失败");
+		} catch (BeanCurrentlyInCreationException e) {
+			System.out.println(e.getMessage());
+			assertTrue(e.getMessage().contains("dbean -> ebean -> dbean"));
+		}
+	}
+
+	@Test
+	public void testPropertyCirculationDI() throws Exception {
+		GenericBeanDefinition bd = new GenericBeanDefinition();
+		bd.setBeanClass(GBean.class);
+		List<PropertyValue> propertyValues = new ArrayList<>();
+		propertyValues.add(new PropertyValue("hBean", new BeanReference("hbean")));
+		bd.setPropertyValues(propertyValues);
+		bf.registerBeanDefinition("gbean", bd);
+
+		bd = new GenericBeanDefinition();
+		bd.setBeanClass(HBean.class);
+		propertyValues = new ArrayList<>();
+		propertyValues.add(new PropertyValue("gBean", new BeanReference("gbean")));
+		bd.setPropertyValues(propertyValues);
+		bf.registerBeanDefinition("hbean", bd);
+
+		GBean gbean = (GBean) bf.getBean("gbean");
+		HBean hbean = (HBean) bf.getBean("hbean");
+		assertSame(hbean, gbean.gethBean());
+		assertSame(gbean, hbean.getgBean());
 	}
 }
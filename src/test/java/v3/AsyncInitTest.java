@@ -0,0 +1,101 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：AsyncInitTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanCreationException;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.LBean;
+import com.dn.spring.samples.MBean;
+
+/**
+ * Description: 异步初始化测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class AsyncInitTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        gate.countDown();
+        executor.shutdown();
+    }
+
+    private PreBuildBeanFactory factory(long timeoutMillis) throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.setInitExecutor(executor);
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(LBean.class);
+        List<Object> args = new ArrayList<>();
+        args.add(gate);
+        bd.setConstructorArgumentValues(args);
+        bd.setInitMethodName("init");
+        bd.setAsyncInit(true);
+        bd.setInitTimeoutMillis(timeoutMillis);
+        bf.registerBeanDefinition("lbean", bd);
+        return bf;
+    }
+
+    @Test
+    public void testPublishBeforeInit() throws Exception {
+        PreBuildBeanFactory bf = factory(0);
+        LBean lbean = (LBean) bf.getBean("lbean");
+        assertFalse(lbean.isWarmed());
+
+        gate.countDown();
+        bf.awaitPendingInits();
+        assertTrue(lbean.isWarmed());
+    }
+
+    @Test
+    public void testReadyReference() throws Exception {
+        PreBuildBeanFactory bf = factory(0);
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(MBean.class);
+        List<PropertyValue> propertyValues = new ArrayList<>();
+        propertyValues.add(new PropertyValue("lBean", new BeanReference("lbean", true)));
+        bd.setPropertyValues(propertyValues);
+        bd.setInitMethodName("init");
+        bf.registerBeanDefinition("mbean", bd);
+
+        executor.execute(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            gate.countDown();
+        });
+        MBean mbean = (MBean) bf.getBean("mbean");
+        assertTrue(mbean.islBeanWarmed());
+    }
+
+    @Test(expected = BeanCreationException.class)
+    public void testBarrierTimeout() throws Exception {
+        factory(50).preInstantiateSingletons();
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：AutowireTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.AutowirePlan;
+import com.dn.spring.beans.BeanCreationException;
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.CBean;
+import com.dn.spring.samples.FBean;
+import com.dn.spring.samples.JBean;
+import com.dn.spring.samples.OBean;
+
+/**
+ * Description: 自动装配测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class AutowireTest {
+
+    @Test
+    public void testAutowireByType() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("fbean", bean(FBean.class));
+        bf.registerBeanDefinition("jbean", bean(JBean.class));
+        bf.registerBeanDefinition("cbean", cBean());
+        GenericBeanDefinition obd = autowired(BeanDefinition.AUTOWIRE_BY_TYPE);
+        bf.registerBeanDefinition("obean", obd);
+        bf.preInstantiateSingletons();
+
+        OBean o1 = (OBean) bf.getBean("obean");
+        assertSame(bf.getBean("fbean"), o1.getFbean());
+        assertSame(bf.getBean("jbean"), o1.getSupplier());
+        assertSame(bf.getBean("cbean"), o1.getCbean());
+        assertNull(o1.getLabel());
+
+        // 原型再次创建沿用同一个计划
+        AutowirePlan plan = obd.getAutowirePlan();
+        OBean o2 = (OBean) bf.getBean("obean");
+        assertNotSame(o1, o2);
+        assertSame(o1.getSupplier(), o2.getSupplier());
+        assertSame(plan, obd.getAutowirePlan());
+    }
+
+    @Test
+    public void testAutowireByName() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("supplier", bean(JBean.class));
+        bf.registerBeanDefinition("other", bean(JBean.class));
+        bf.registerBeanDefinition("obean", autowired(BeanDefinition.AUTOWIRE_BY_NAME));
+        bf.preInstantiateSingletons();
+
+        OBean o = (OBean) bf.getBean("obean");
+        assertSame(bf.getBean("supplier"), o.getSupplier());
+        assertNull(o.getCbean());
+        assertNull(o.getFbean());
+    }
+
+    @Test
+    public void testAmbiguityReportedBeforeCreation() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("cbean1", cBean());
+        bf.registerBeanDefinition("cbean2", cBean());
+        bf.registerBeanDefinition("obean", autowired(BeanDefinition.AUTOWIRE_BY_TYPE));
+        try {
+            bf.freeze();
+            throw new AssertionError("CBean有两个候选");
+        } catch (BeanCreationException e) {
+            assertTrue(e.getMessage().contains("cbean1"));
+            System.out.println(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRegistrationInvalidatesPlan() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("obean", autowired(BeanDefinition.AUTOWIRE_BY_TYPE));
+        OBean before = (OBean) bf.getBean("obean");
+        assertNull(before.getSupplier());
+        assertNull(before.getFbean());
+
+        bf.registerBeanDefinition("jbean", bean(JBean.class));
+        bf.registerBeanDefinition("fbean", bean(FBean.class));
+        OBean after = (OBean) bf.getBean("obean");
+        assertSame(bf.getBean("jbean"), after.getSupplier());
+        assertSame(bf.getBean("fbean"), after.getFbean());
+        assertEquals(3, bf.getBeanDefinitionNames().size());
+    }
+
+    @Test
+    public void testNonPublicConstructor() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("fbean", bean(FBean.class));
+        GenericBeanDefinition hbd = bean(Holder.class);
+        hbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        hbd.setAutowireMode(BeanDefinition.AUTOWIRE_BY_TYPE);
+        bf.registerBeanDefinition("holder", hbd);
+        bf.preInstantiateSingletons();
+
+        // 实例化使用计划选定的构造方法，不再从public构造方法中重新匹配
+        Holder h = (Holder) bf.getBean("holder");
+        assertSame(bf.getBean("fbean"), h.fbean);
+        assertEquals(hbd.getAutowirePlan().getConstructor(), hbd.getConstructor());
+        assertSame(h.fbean, ((Holder) bf.getBean("holder")).fbean);
+    }
+
+    @Test
+    public void testConstructorByName() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("primary", bean(FBean.class));
+        bf.registerBeanDefinition("backup", bean(FBean.class));
+        GenericBeanDefinition pbd = bean(Pair.class);
+        pbd.setAutowireMode(BeanDefinition.AUTOWIRE_BY_NAME);
+        bf.registerBeanDefinition("pair", pbd);
+
+        // 两个候选类型相同，按构造参数名区分
+        Pair pair = (Pair) bf.getBean("pair");
+        assertSame(bf.getBean("primary"), pair.primary);
+        assertSame(bf.getBean("backup"), pair.backup);
+    }
+
+    private static GenericBeanDefinition autowired(String mode) {
+        GenericBeanDefinition bd = bean(OBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setAutowireMode(mode);
+        return bd;
+    }
+
+    private static GenericBeanDefinition bean(Class<?> beanClass) {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(beanClass);
+        return bd;
+    }
+
+    private static GenericBeanDefinition cBean() {
+        GenericBeanDefinition bd = bean(CBean.class);
+        List<Object> args = new ArrayList<>();
+        args.add("name");
+        bd.setConstructorArgumentValues(args);
+        return bd;
+    }
+
+    static class Holder {
+
+        private final FBean fbean;
+
+        Holder(FBean fbean) {
+            this.fbean = fbean;
+        }
+    }
+
+    static class Pair {
+
+        private final FBean primary;
+
+        private final FBean backup;
+
+        Pair(FBean primary, FBean backup) {
+            this.primary = primary;
+            this.backup = backup;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BeanHandleTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanHandle;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.ABean;
+import com.dn.spring.samples.ABeanFactory;
+import com.dn.spring.samples.CBean;
+
+/**
+ * Description: bean句柄测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class BeanHandleTest {
+
+    @Test
+    public void testHandles() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(CBean.class);
+        List<Object> args = new ArrayList<>();
+        args.add("cbean");
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("cbean", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(ABeanFactory.class);
+        bd.setFactoryMethodName("getABean");
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        args = new ArrayList<>();
+        args.add("abean");
+        args.add(new BeanReference("cbean"));
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("abean", bd);
+
+        BeanHandle<CBean> cbean = bf.getHandle("cbean", CBean.class);
+        assertSame(bf.getBean("cbean"), cbean.get());
+        assertEquals("cbean", cbean.get().getName());
+
+        BeanHandle<ABean> abean = bf.getHandle("abean", ABean.class);
+        assertNotSame(abean.get(), abean.get());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testWrongType() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(CBean.class);
+        List<Object> args = new ArrayList<>();
+        args.add("cbean");
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("cbean", bd);
+
+        bf.getHandle("cbean", ABean.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testPrototypeTypeCheck() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(CBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArgumentValues(new ArrayList<>(Arrays.asList("cbean")));
+        bf.registerBeanDefinition("cbean", bd);
+        try {
+            bf.getHandle("cbean", ABean.class);
+            fail();
+        } catch (ClassCastException e) {
+            // 类型可以推断，直接报错
+        }
+
+        // 工厂方法声明接口，实际类型在get()时检查
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(Collections.class);
+        bd.setFactoryMethodName("emptyList");
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bf.registerBeanDefinition("list", bd);
+        assertTrue(bf.getHandle("list", List.class).get().isEmpty());
+        BeanHandle<ArrayList> handle = bf.getHandle("list", ArrayList.class);
+        try {
+            handle.get();
+            fail();
+        } catch (ClassCastException e) {
+            // 实际类型不是ArrayList
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：BulkRegistrationTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanDefinitionRegistException;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.HBean;
+
+/**
+ * Description: 批量注册测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class BulkRegistrationTest {
+
+    private static Map<String, BeanDefinition> batch(String prefix, int count) {
+        Map<String, BeanDefinition> batch = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(HBean.class);
+            batch.put(prefix + i, bd);
+        }
+        return batch;
+    }
+
+    @Test
+    public void testRegisterBeanDefinitions() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinitions(batch("bean", 10000));
+        assertEquals(10000, bf.getBeanDefinitionNames().size());
+        assertEquals("bean0", bf.getBeanDefinitionNames().get(0));
+        bf.preInstantiateSingletons();
+        assertNotNull(bf.getBean("bean9999"));
+    }
+
+    @Test
+    public void testAllOrNothing() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinitions(batch("bean", 10));
+
+        // 与已注册的重名
+        Map<String, BeanDefinition> duplicated = batch("other", 10);
+        duplicated.putAll(batch("bean", 1));
+        try {
+            bf.registerBeanDefinitions(duplicated);
+            fail("重名的批次应该失败");
+        } catch (BeanDefinitionRegistException e) {
+            assertFalse(bf.containsBeanDefinition("other0"));
+        }
+
+        // 有不合法的定义
+        Map<String, BeanDefinition> invalid = batch("third", 10);
+        invalid.put("broken", new GenericBeanDefinition());
+        try {
+            bf.registerBeanDefinitions(invalid);
+            fail("含不合法定义的批次应该失败");
+        } catch (BeanDefinitionRegistException e) {
+            assertFalse(bf.containsBeanDefinition("third0"));
+        }
+        assertEquals(10, bf.getBeanDefinitionNames().size());
+    }
+
+    @Test
+    public void testNamesPublishedWithDefinitions() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        FutureTask<Void> registration = new FutureTask<>(() -> {
+            for (int i = 0; i < 200; i++) {
+                bf.registerBeanDefinitions(batch("batch" + i + "_", 50));
+            }
+            return null;
+        });
+        Thread writer = new Thread(registration);
+        writer.start();
+        // 定义可见时名称必须同时可见
+        while (writer.isAlive()) {
+            for (int i = 0; i < 200; i++) {
+                if (bf.containsBeanDefinition("batch" + i + "_49")) {
+                    assertTrue(bf.getBeanDefinitionNames().contains("batch" + i + "_49"));
+                }
+            }
+        }
+        registration.get();
+        assertEquals(10000, bf.getBeanDefinitionNames().size());
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：CloseTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.NBean;
+
+/**
+ * Description: 关闭工厂时的销毁顺序测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class CloseTest {
+
+    @Before
+    public void setUp() {
+        NBean.DESTROYED.clear();
+    }
+
+    private static void register(PreBuildBeanFactory bf, String name, String dependency, long destroyMillis,
+            String scope) throws Exception {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(NBean.class);
+        bd.setScope(scope);
+        bd.setDestroyMethodName("destroy");
+        List<PropertyValue> propertyValues = new ArrayList<>();
+        propertyValues.add(new PropertyValue("name", name));
+        propertyValues.add(new PropertyValue("destroyMillis", destroyMillis));
+        if (dependency != null) {
+            propertyValues.add(new PropertyValue("dependency", new BeanReference(dependency)));
+        }
+        bd.setPropertyValues(propertyValues);
+        bf.registerBeanDefinition(name, bd);
+    }
+
+    @Test
+    public void testReverseDependencyOrder() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        register(bf, "n1", null, 20, BeanDefinition.SCOPE_SINGLETION);
+        register(bf, "n2", "n1", 20, BeanDefinition.SCOPE_SINGLETION);
+        register(bf, "n3", "n2", 0, BeanDefinition.SCOPE_SINGLETION);
+        register(bf, "n4", "n1", 0, BeanDefinition.SCOPE_SINGLETION);
+        // 从未创建的单例不销毁
+        register(bf, "never", null, 0, BeanDefinition.SCOPE_SINGLETION);
+        register(bf, "proto", "n3", 0, BeanDefinition.SCOPE_PROTOTYPE);
+        bf.getBean("n3");
+        bf.getBean("n4");
+        bf.registerDisposableBean("proto", bf.getBean("proto"));
+
+        bf.close();
+        List<String> destroyed = NBean.DESTROYED;
+        assertEquals(5, destroyed.size());
+        assertEquals("proto", destroyed.get(0));
+        assertTrue(destroyed.indexOf("n3") < destroyed.indexOf("n2"));
+        assertTrue(destroyed.indexOf("n2") < destroyed.indexOf("n1"));
+        assertTrue(destroyed.indexOf("n4") < destroyed.indexOf("n1"));
+    }
+
+    @Test
+    public void testCycleBeforeItsDependencies() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        register(bf, "shared", null, 0, BeanDefinition.SCOPE_SINGLETION);
+        register(bf, "x", "y", 20, BeanDefinition.SCOPE_SINGLETION);
+        register(bf, "y", "x", 20, BeanDefinition.SCOPE_SINGLETION);
+        // 环上的x还依赖shared
+        bf.getBeanDefinition("x").getPropertyValues().add(new PropertyValue("other", new BeanReference("shared")));
+        register(bf, "top", "x", 0, BeanDefinition.SCOPE_SINGLETION);
+        bf.getBean("top");
+
+        bf.close();
+        List<String> destroyed = NBean.DESTROYED;
+        assertEquals(4, destroyed.size());
+        assertEquals("top", destroyed.get(0));
+        assertEquals("shared", destroyed.get(3));
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        register(bf, "slow", null, 5000, BeanDefinition.SCOPE_SINGLETION);
+        bf.getBean("slow");
+        bf.setCloseTimeoutMillis(100);
+
+        long start = System.currentTimeMillis();
+        bf.close();
+        assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：CollectionDiTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.CBean;
+
+/**
+ * Description: 数组、集合、Map、Properties中的bean引用注入测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class CollectionDiTest {
+
+    public static class Holder {
+
+        private final List<Object> handlers;
+
+        private Object[] array;
+
+        private Map<String, Object> map;
+
+        private Properties props;
+
+        private List<String> names;
+
+        private Deque<Object> deque;
+
+        private LinkedList<String> linked;
+
+        public Holder(List<Object> handlers) {
+            this.handlers = handlers;
+        }
+    }
+
+    @Test
+    public void testCollectionDI() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        for (int i = 0; i < 3; i++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(CBean.class);
+            List<Object> args = new ArrayList<>();
+            args.add("cbean" + i);
+            bd.setConstructorArgumentValues(args);
+            bf.registerBeanDefinition("cbean" + i, bd);
+        }
+
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Holder.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<Object> handlers = new ArrayList<>();
+        handlers.add(new BeanReference("cbean0"));
+        handlers.add("literal");
+        handlers.add(new BeanReference("cbean1"));
+        List<Object> args = new ArrayList<>();
+        args.add(handlers);
+        bd.setConstructorArgumentValues(args);
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("c2", new BeanReference("cbean2"));
+        map.put("n", 1);
+        Properties props = new Properties();
+        props.put("c0", new BeanReference("cbean0"));
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("array", new Object[] { new BeanReference("cbean2"), "x" }));
+        pvs.add(new PropertyValue("map", map));
+        pvs.add(new PropertyValue("props", props));
+        pvs.add(new PropertyValue("names", Arrays.asList("a", "b")));
+        bd.setPropertyValues(pvs);
+        bf.registerBeanDefinition("holder", bd);
+
+        Holder h1 = (Holder) bf.getBean("holder");
+        Holder h2 = (Holder) bf.getBean("holder");
+
+        assertEquals(Arrays.asList(bf.getBean("cbean0"), "literal", bf.getBean("cbean1")), h1.handlers);
+        assertNotSame(h1.handlers, h2.handlers);
+        assertArrayEquals(new Object[] { bf.getBean("cbean2"), "x" }, h1.array);
+        assertSame(bf.getBean("cbean2"), h1.map.get("c2"));
+        assertEquals(1, h1.map.get("n"));
+        assertSame(bf.getBean("cbean0"), h1.props.get("c0"));
+        // 只含字面值的集合是共享的不可变副本
+        assertEquals(Arrays.asList("a", "b"), h1.names);
+        assertSame(h1.names, h2.names);
+    }
+
+    @Test
+    public void testCollectionKindPreserved() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition cbd = new GenericBeanDefinition();
+        cbd.setBeanClass(CBean.class);
+        cbd.setConstructorArgumentValues(Arrays.asList("c"));
+        bf.registerBeanDefinition("cbean", cbd);
+
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Holder.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArgumentValues(Arrays.asList(new ArrayList<>()));
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("deque", new ArrayDeque<>(Arrays.asList(new BeanReference("cbean"), "x"))));
+        pvs.add(new PropertyValue("linked", new LinkedList<>(Arrays.asList("a", "b"))));
+        bd.setPropertyValues(pvs);
+        bf.registerBeanDefinition("holder", bd);
+
+        Holder h1 = (Holder) bf.getBean("holder");
+        Holder h2 = (Holder) bf.getBean("holder");
+        assertTrue(h1.deque instanceof ArrayDeque);
+        assertSame(bf.getBean("cbean"), h1.deque.peekFirst());
+        assertEquals("x", h1.deque.peekLast());
+        // 不能共享不可变副本的集合每次得到新的同类集合
+        assertEquals(Arrays.asList("a", "b"), h1.linked);
+        assertNotSame(h1.linked, h2.linked);
+    }
+}
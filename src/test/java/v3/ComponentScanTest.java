@@ -0,0 +1,114 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ComponentScanTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.context.ClassPathComponentScanner;
+import com.dn.spring.context.ScannedBeanDefinition;
+import com.dn.spring.samples.scan.PBean;
+import com.dn.spring.samples.scan.QBean;
+
+/**
+ * Description: 组件扫描测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ComponentScanTest {
+
+    private static final String PACKAGE = "com.dn.spring.samples.scan";
+
+    @Test
+    public void testScanDirectory() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        int count = new ClassPathComponentScanner(getClass().getClassLoader()).scan(bf, PACKAGE);
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("pbean", "qBean"), bf.getBeanDefinitionNames());
+        assertEquals(BeanDefinition.SCOPE_PROTOTYPE, bf.getBeanDefinition("qBean").getScope());
+
+        bf.preInstantiateSingletons();
+        QBean q1 = (QBean) bf.getBean("qBean");
+        QBean q2 = (QBean) bf.getBean("qBean");
+        assertNotSame(q1, q2);
+        assertSame(bf.getBean(PBean.class), q1.getPbean());
+    }
+
+    @Test
+    public void testScanJarWithCache() throws Exception {
+        Path tmp = Files.createTempDirectory("scan");
+        Path jar = tmp.resolve("components.jar");
+        Path classes = Paths.get(PBean.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        writeJar(classes, PACKAGE.replace('.', '/'), jar);
+        Path cacheDir = tmp.resolve("cache");
+
+        // 父加载器为null：只能看到jar包中的类，扫描也不需要加载它们
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { jar.toUri().toURL() }, null)) {
+            ClassPathComponentScanner scanner = new ClassPathComponentScanner(loader);
+            scanner.setCacheDirectory(cacheDir);
+            Map<String, BeanDefinition> first = scanner.findComponents(PACKAGE);
+            assertEquals(Arrays.asList("pbean", "qBean"), new ArrayList<>(first.keySet()));
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                assertEquals(1, files.count());
+            }
+
+            Map<String, BeanDefinition> second = scanner.findComponents(PACKAGE);
+            assertEquals(first.keySet(), second.keySet());
+            assertEquals(BeanDefinition.SCOPE_PROTOTYPE, second.get("qBean").getScope());
+
+            // 注册不加载类，第一次按类型查找时才加载
+            PreBuildBeanFactory bf = new PreBuildBeanFactory();
+            bf.registerBeanDefinitions(second);
+            ScannedBeanDefinition pbean = (ScannedBeanDefinition) second.get("pbean");
+            assertFalse(pbean.isBeanClassResolved());
+            Class<?> pbeanClass = loader.loadClass(PBean.class.getName());
+            assertArrayEquals(new String[] { "pbean" }, bf.getBeanNamesForType(pbeanClass));
+            assertTrue(pbean.isBeanClassResolved());
+        }
+    }
+
+    private static void writeJar(Path classes, String packagePath, Path jar) throws IOException {
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jos = new JarOutputStream(out);
+                Stream<Path> files = Files.list(classes.resolve(packagePath))) {
+            String dir = "";
+            for (String part : packagePath.split("/")) {
+                dir += part + "/";
+                jos.putNextEntry(new JarEntry(dir));
+                jos.closeEntry();
+            }
+            for (Path f : (Iterable<Path>) files::iterator) {
+                jos.putNextEntry(new JarEntry(packagePath + "/" + f.getFileName()));
+                jos.write(Files.readAllBytes(f));
+                jos.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ConcurrentSingletonTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.DefaultBeanFactory;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.DBean;
+import com.dn.spring.samples.EBean;
+
+/**
+ * Description: 并发获取单例的压力测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ConcurrentSingletonTest {
+
+    private static final int THREADS = 300;
+
+    public static class SlowBean {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        static final AtomicInteger INITED = new AtomicInteger();
+
+        public SlowBean() {
+            CREATED.incrementAndGet();
+        }
+
+        public void init() throws InterruptedException {
+            INITED.incrementAndGet();
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void testSameBean() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(SlowBean.class);
+        bd.setInitMethodName("init");
+        bf.registerBeanDefinition("slow", bd);
+
+        int created = SlowBean.CREATED.get();
+        int inited = SlowBean.INITED.get();
+        List<Object> beans = race(bf, i -> "slow");
+
+        assertEquals(created + 1, SlowBean.CREATED.get());
+        assertEquals(inited + 1, SlowBean.INITED.get());
+        for (Object bean : beans) {
+            assertSame(beans.get(0), bean);
+        }
+    }
+
+    @Test
+    public void testDifferentBeans() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        int names = 50;
+        for (int i = 0; i < names; i++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(SlowBean.class);
+            bd.setInitMethodName("init");
+            bf.registerBeanDefinition("slow" + i, bd);
+        }
+
+        int inited = SlowBean.INITED.get();
+        List<Object> beans = race(bf, i -> "slow" + (i % names));
+
+        assertEquals(inited + names, SlowBean.INITED.get());
+        for (int i = 0; i < beans.size(); i++) {
+            assertSame(bf.getBean("slow" + (i % names)), beans.get(i));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCrossThreadCirculation() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(DBean.class);
+        List<Object> args = new ArrayList<>();
+        args.add(new BeanReference("ebean"));
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("dbean", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(EBean.class);
+        args = new ArrayList<>();
+        args.add(new BeanReference("dbean"));
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("ebean", bd);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> d = executor.submit(() -> bf.getBean("dbean"));
+            Future<Object> e = executor.submit(() -> bf.getBean("ebean"));
+            assertTrue(failed(d));
+            assertTrue(failed(e));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static class Marker {
+
+        static final CountDownLatch CREATED = new CountDownLatch(1);
+
+        public Marker() {
+            CREATED.countDown();
+        }
+    }
+
+    public static class CtorSide {
+
+        final PropSide prop;
+
+        public CtorSide(Marker marker, PropSide prop) {
+            this.prop = prop;
+        }
+    }
+
+    public static class PropSide {
+
+        static final CountDownLatch CREATED = new CountDownLatch(1);
+
+        CtorSide ctor;
+
+        public PropSide() throws InterruptedException {
+            CREATED.countDown();
+            Marker.CREATED.await(5, TimeUnit.SECONDS);
+            // 让另一个线程先进入等待，由本线程发现跨线程的环
+            Thread.sleep(50);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCrossThreadMixedCirculation() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Marker.class);
+        bf.registerBeanDefinition("marker", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(CtorSide.class);
+        List<Object> args = new ArrayList<>();
+        args.add(new BeanReference("marker"));
+        args.add(new BeanReference("prop"));
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("ctor", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(PropSide.class);
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("ctor", new BeanReference("ctor")));
+        bd.setPropertyValues(pvs);
+        bf.registerBeanDefinition("prop", bd);
+
+        // 构造方法引用与属性引用混合的环：prop已提前暴露，ctor所在线程被唤醒后用它的提前引用走出环
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> prop = executor.submit(() -> bf.getBean("prop"));
+            assertTrue(PropSide.CREATED.await(5, TimeUnit.SECONDS));
+            Future<Object> ctor = executor.submit(() -> bf.getBean("ctor"));
+            PropSide p = (PropSide) prop.get(5, TimeUnit.SECONDS);
+            CtorSide c = (CtorSide) ctor.get(5, TimeUnit.SECONDS);
+            assertSame(p, c.prop);
+            assertSame(c, p.ctor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean failed(Future<Object> f) throws InterruptedException {
+        try {
+            f.get();
+            return false;
+        } catch (java.util.concurrent.ExecutionException e) {
+            return true;
+        }
+    }
+
+    private interface NameOf {
+        String name(int i);
+    }
+
+    private static List<Object> race(DefaultBeanFactory bf, NameOf nameOf) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String name = nameOf.name(i);
+                futures.add(executor.submit((Callable<Object>) () -> {
+                    start.await();
+                    return bf.getBean(name);
+                }));
+            }
+            start.countDown();
+            List<Object> beans = new ArrayList<>();
+            for (Future<Object> f : futures) {
+                beans.add(f.get(10, TimeUnit.SECONDS));
+            }
+            return beans;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
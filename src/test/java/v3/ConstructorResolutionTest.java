@@ -0,0 +1,110 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ConstructorResolutionTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.ArgumentSignature;
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.DefaultBeanFactory;
+import com.dn.spring.beans.GenericBeanDefinition;
+
+/**
+ * Description: 构造方法、工厂方法的重载选择与缓存测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ConstructorResolutionTest {
+
+    public static class Overloaded {
+
+        private final String chosen;
+
+        public Overloaded(Object o) {
+            this.chosen = "Object";
+        }
+
+        public Overloaded(CharSequence s) {
+            this.chosen = "CharSequence";
+        }
+
+        public Overloaded(String s) {
+            this.chosen = "String";
+        }
+
+        public Overloaded(long n) {
+            this.chosen = "long";
+        }
+
+        public Overloaded(int n) {
+            this.chosen = "int";
+        }
+
+        public static Overloaded create(Object o) {
+            return new Overloaded(o);
+        }
+
+        public static Overloaded create(StringBuilder sb) {
+            return new Overloaded((CharSequence) sb);
+        }
+    }
+
+    private static String build(DefaultBeanFactory bf, String name, Object arg, String factoryMethod) throws Exception {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Overloaded.class);
+        bd.setFactoryMethodName(factoryMethod);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<Object> args = new ArrayList<>();
+        args.add(arg);
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition(name, bd);
+        return ((Overloaded) bf.getBean(name)).chosen;
+    }
+
+    @Test
+    public void testMostSpecific() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        assertEquals("String", build(bf, "string", "s", null));
+        assertEquals("CharSequence", build(bf, "sb", new StringBuilder(), null));
+        assertEquals("Object", build(bf, "object", Arrays.asList(1), null));
+        assertEquals("int", build(bf, "int", 1, null));
+        assertEquals("long", build(bf, "long", 1L, null));
+        assertEquals("CharSequence", build(bf, "factorySb", new StringBuilder(), "create"));
+        assertEquals("Object", build(bf, "factoryString", "s", "create"));
+    }
+
+    @Test
+    public void testNullArgument() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        // null 匹配任意引用类型，取最具体的String
+        assertEquals("String", build(bf, "null", null, null));
+    }
+
+    @Test
+    public void testSingletonCached() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Overloaded.class);
+        List<Object> args = new ArrayList<>();
+        args.add("s");
+        bd.setConstructorArgumentValues(args);
+        bf.registerBeanDefinition("singleton", bd);
+        bf.getBean("singleton");
+
+        assertNotNull(bd.getResolvedExecutable(ArgumentSignature.of(Overloaded.class, new Object[] { "x" })));
+        assertEquals(Overloaded.class.getConstructor(String.class), bd.getConstructor());
+    }
+}
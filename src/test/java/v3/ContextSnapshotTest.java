@@ -0,0 +1,110 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ContextSnapshotTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.dn.spring.beans.ContextSnapshot;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.GBean;
+import com.dn.spring.samples.HBean;
+
+/**
+ * Description: bean工厂快照测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ContextSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path snapshot() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        new DefinitionIndexTest.Registrar().registerBeanDefinitions(bf);
+        bf.preInstantiateSingletons();
+        Path file = folder.getRoot().toPath().resolve("context.snapshot");
+        ContextSnapshot.write(bf, file);
+        return file;
+    }
+
+    @Test
+    public void testRestore() throws Exception {
+        Path file = snapshot();
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        assertTrue(ContextSnapshot.restore(bf, file, getClass().getClassLoader()));
+        assertNotNull(bf.getBeanDefinition("abean").getFactoryMethod());
+        assertSame(bf.getBean("hbean"), ((GBean) bf.getBean("gbean")).gethBean());
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        assertFalse(ContextSnapshot.restore(bf, folder.getRoot().toPath().resolve("missing"),
+                getClass().getClassLoader()));
+
+        // 篡改第一个类(CBean)的校验值
+        Path file = snapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        int offset = 4 + 2 + 4 + 2 + "com.dn.spring.samples.CBean".length();
+        bytes[offset + 7] ^= 1;
+        Files.write(file, bytes);
+        assertFalse(ContextSnapshot.restore(bf, file, getClass().getClassLoader()));
+        assertTrue(bf.getBeanDefinitionNames().isEmpty());
+    }
+
+    @Test
+    public void testCorruptSnapshot() throws Exception {
+        Path file = snapshot();
+        byte[] original = Files.readAllBytes(file);
+        ByteBuffer buf = ByteBuffer.wrap(original);
+        buf.position(6);
+        int classCount = buf.getInt();
+        for (int i = 0; i < classCount; i++) {
+            int nameLength = buf.getShort() & 0xFFFF;
+            buf.position(buf.position() + nameLength + 8);
+        }
+        // 索引头(魔数4字节、版本2字节)之后是定义个数
+        int countOffset = buf.position() + 6;
+
+        int[][] corruptions = { { 6, 0x7FFFFFFF }, { 6, -1 }, { countOffset, -5 }, { countOffset, 0x7FFFFFFF } };
+        for (int[] c : corruptions) {
+            byte[] bytes = original.clone();
+            ByteBuffer.wrap(bytes).putInt(c[0], c[1]);
+            Files.write(file, bytes);
+            PreBuildBeanFactory bf = new PreBuildBeanFactory();
+            assertFalse(ContextSnapshot.restore(bf, file, getClass().getClassLoader()));
+            assertTrue(bf.getBeanDefinitionNames().isEmpty());
+        }
+    }
+
+    @Test
+    public void testNameClash() throws Exception {
+        Path file = snapshot();
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(HBean.class);
+        bf.registerBeanDefinition("hbean", bd);
+        assertFalse(ContextSnapshot.restore(bf, file, getClass().getClassLoader()));
+        assertEquals(1, bf.getBeanDefinitionNames().size());
+    }
+}
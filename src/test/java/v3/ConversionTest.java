@@ -0,0 +1,207 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ConversionTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.ArgumentPlan;
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.DefaultBeanFactory;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.InjectionPlan;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.beans.convert.ConversionService;
+import com.dn.spring.samples.TBean;
+
+/**
+ * Description: 占位符解析和类型转换测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ConversionTest {
+
+    @Test
+    public void testPropertyConversion() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        Properties props = new Properties();
+        props.setProperty("port", "8080");
+        props.setProperty("host.a", "alpha");
+        bf.getConversionService().setPlaceholderProperties(props);
+
+        GenericBeanDefinition bd = bean();
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("port", "${port}"));
+        pvs.add(new PropertyValue("unit", "SECONDS"));
+        pvs.add(new PropertyValue("timeout", "${timeout:30s}"));
+        pvs.add(new PropertyValue("weights", Arrays.asList("1", "2", "3")));
+        pvs.add(new PropertyValue("hosts", "${host.a}, beta"));
+        pvs.add(new PropertyValue("enabled", "yes"));
+        bd.setPropertyValues(pvs);
+        bf.registerBeanDefinition("tbean", bd);
+
+        TBean t1 = (TBean) bf.getBean("tbean");
+        assertEquals(8080, t1.getPort());
+        assertSame(TimeUnit.SECONDS, t1.getUnit());
+        assertEquals(Duration.ofSeconds(30), t1.getTimeout());
+        assertEquals(Arrays.asList(1, 2, 3), t1.getWeights());
+        assertArrayEquals(new String[] { "alpha", "beta" }, t1.getHosts());
+        assertTrue(t1.isEnabled());
+
+        // 转换在构建注入计划时完成，原型再次创建沿用同一个计划
+        InjectionPlan plan = bd.getInjectionPlan();
+        TBean t2 = (TBean) bf.getBean("tbean");
+        assertNotSame(t1, t2);
+        assertSame(plan, bd.getInjectionPlan());
+        assertEquals(8080, t2.getPort());
+    }
+
+    @Test
+    public void testConstructorArgumentConversion() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        GenericBeanDefinition bd = bean();
+        bd.setConstructorArgumentValues(Arrays.asList("9090", "PT2M"));
+        bf.registerBeanDefinition("tbean", bd);
+
+        TBean t1 = (TBean) bf.getBean("tbean");
+        assertEquals(9090, t1.getPort());
+        assertEquals(Duration.ofMinutes(2), t1.getTimeout());
+
+        ArgumentPlan plan = bd.getArgumentPlan();
+        assertEquals(TBean.class.getConstructor(int.class, Duration.class), plan.getTarget());
+        TBean t2 = (TBean) bf.getBean("tbean");
+        assertEquals(9090, t2.getPort());
+        assertSame(plan, bd.getArgumentPlan());
+
+        GenericBeanDefinition fbd = bean();
+        fbd.setFactoryMethodName("create");
+        fbd.setConstructorArgumentValues(Arrays.asList("${missing:7070}"));
+        bf.registerBeanDefinition("created", fbd);
+        assertEquals(7070, ((TBean) bf.getBean("created")).getPort());
+    }
+
+    @Test
+    public void testOverloadStableAfterConversion() throws Exception {
+        DefaultBeanFactory bf = new DefaultBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Overloaded.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArgumentValues(Arrays.asList(5));
+        bf.registerBeanDefinition("overloaded", bd);
+
+        // Integer只能拆箱拓宽传给long，转换后的Long会直接匹配Long重载
+        assertEquals("long", ((Overloaded) bf.getBean("overloaded")).chosen);
+        ArgumentPlan plan = bd.getArgumentPlan();
+        assertEquals(Overloaded.class.getConstructor(long.class), plan.getTarget());
+        assertEquals("long", ((Overloaded) bf.getBean("overloaded")).chosen);
+        assertSame(plan, bd.getArgumentPlan());
+    }
+
+    @Test
+    public void testConversionService() {
+        ConversionService cs = new ConversionService();
+        assertEquals(Duration.ofMillis(250), cs.convert("250", Duration.class));
+        assertEquals(Duration.ofHours(1), cs.convert("1h", Duration.class));
+        assertEquals(12L, cs.convert(12, long.class));
+        assertEquals('x', cs.convert("x", char.class));
+        assertArrayEquals(new int[] { 1, 2 }, (int[]) cs.convert(Arrays.asList("1", "2"), int[].class));
+        assertTrue(cs.canConvert(String.class, int.class));
+
+        cs.addConverter(String.class, StringBuilder.class, StringBuilder::new);
+        assertEquals("ab", cs.convert("ab", StringBuilder.class).toString());
+
+        Properties props = new Properties();
+        props.setProperty("a", "${b}");
+        props.setProperty("b", "${a}");
+        props.setProperty("inner", "port");
+        props.setProperty("port", "80");
+        cs.setPlaceholderProperties(props);
+        assertEquals("http:80", cs.resolvePlaceholders("http:${${inner}}"));
+        try {
+            cs.resolvePlaceholders("${a}");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("循环"));
+        }
+        try {
+            cs.convert("${undefined}", int.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("undefined"));
+        }
+    }
+
+    @Test
+    public void testCollectionConversion() throws Exception {
+        ConversionService cs = new ConversionService();
+        Object deque = cs.convert("a, b", Targets.class.getDeclaredField("deque").getGenericType());
+        assertTrue(deque instanceof Deque);
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>((Deque<?>) deque));
+        Object queue = cs.convert(Arrays.asList("2", "1"), Targets.class.getDeclaredField("queue").getGenericType());
+        assertTrue(queue instanceof Queue);
+        assertEquals(2, ((Queue<?>) queue).peek());
+        Object navigable = cs.convert("3,1,2", Targets.class.getDeclaredField("navigable").getGenericType());
+        assertTrue(navigable instanceof NavigableSet);
+        assertEquals(1, ((NavigableSet<?>) navigable).first());
+
+        // 原始类型的集合中的占位符同样解析，没有占位符时原样返回
+        Properties props = new Properties();
+        props.setProperty("host", "alpha");
+        cs.setPlaceholderProperties(props);
+        List<Object> raw = Arrays.asList("${host}", 1);
+        assertEquals(Arrays.asList("alpha", 1), cs.convert(raw, List.class));
+        List<Object> resolved = Arrays.asList("alpha", 1);
+        assertSame(resolved, cs.convert(resolved, List.class));
+    }
+
+    private static GenericBeanDefinition bean() {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(TBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        return bd;
+    }
+
+    public static class Overloaded {
+
+        final String chosen;
+
+        public Overloaded(long value) {
+            this.chosen = "long";
+        }
+
+        public Overloaded(Long value) {
+            this.chosen = "Long";
+        }
+    }
+
+    static class Targets {
+
+        Deque<String> deque;
+
+        Queue<Integer> queue;
+
+        NavigableSet<Integer> navigable;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：DefinitionIndexTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinitionIndex;
+import com.dn.spring.beans.BeanDefinitionIndexWriter;
+import com.dn.spring.beans.BeanDefinitionRegistException;
+import com.dn.spring.beans.BeanDefinitionRegistrar;
+import com.dn.spring.beans.BeanDefinitionRegistry;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.ABean;
+import com.dn.spring.samples.ABeanFactory;
+import com.dn.spring.samples.CBean;
+import com.dn.spring.samples.GBean;
+import com.dn.spring.samples.HBean;
+
+/**
+ * Description: bean定义索引测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class DefinitionIndexTest {
+
+    public static class Registrar implements BeanDefinitionRegistrar {
+
+        @Override
+        public void registerBeanDefinitions(BeanDefinitionRegistry registry) throws Exception {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(CBean.class);
+            List<Object> args = new ArrayList<>();
+            args.add("cbean");
+            bd.setConstructorArgumentValues(args);
+            registry.registerBeanDefinition("cbean", bd);
+
+            bd = new GenericBeanDefinition();
+            bd.setBeanClass(ABeanFactory.class);
+            bd.setFactoryMethodName("getABean");
+            args = new ArrayList<>();
+            args.add("abean");
+            args.add(new BeanReference("cbean"));
+            bd.setConstructorArgumentValues(args);
+            registry.registerBeanDefinition("abean", bd);
+
+            bd = new GenericBeanDefinition();
+            bd.setBeanClass(GBean.class);
+            List<PropertyValue> propertyValues = new ArrayList<>();
+            propertyValues.add(new PropertyValue("hBean", new BeanReference("hbean")));
+            bd.setPropertyValues(propertyValues);
+            registry.registerBeanDefinition("gbean", bd);
+
+            bd = new GenericBeanDefinition();
+            bd.setBeanClass(HBean.class);
+            registry.registerBeanDefinition("hbean", bd);
+        }
+    }
+
+    private static BeanDefinitionIndex writeAndRead() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(4, BeanDefinitionIndexWriter.writeIndex(new Registrar(), true, out));
+        return BeanDefinitionIndex.read(new ByteArrayInputStream(out.toByteArray()),
+                DefinitionIndexTest.class.getClassLoader());
+    }
+
+    @Test
+    public void testLoadIndex() throws Exception {
+        BeanDefinitionIndex index = writeAndRead();
+        assertEquals(4, index.getBeanDefinitions().size());
+        // 构建时解析出的工厂方法随索引读入
+        assertNotNull(index.getBeanDefinitions().get("abean").getFactoryMethod());
+        assertEquals(1, index.getDependencyGraph().getDependencies("abean").size());
+
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.setParallelPreInstantiation(true);
+        bf.loadBeanDefinitionIndex(index);
+        bf.preInstantiateSingletons();
+
+        assertNotNull((ABean) bf.getBean("abean"));
+        assertSame(bf.getBean("hbean"), ((GBean) bf.getBean("gbean")).gethBean());
+    }
+
+    @Test(expected = BeanDefinitionRegistException.class)
+    public void testDuplicate() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(HBean.class);
+        bf.registerBeanDefinition("hbean", bd);
+        bf.loadBeanDefinitionIndex(writeAndRead());
+    }
+}
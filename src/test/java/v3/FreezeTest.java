@@ -0,0 +1,62 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：FreezeTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinitionRegistException;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.FBean;
+
+/**
+ * Description: 冻结bean工厂测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class FreezeTest {
+
+    @Test
+    public void testFreeze() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition[] definitions = new GenericBeanDefinition[1000];
+        for (int i = 0; i < 1000; i++) {
+            definitions[i] = fBean();
+            bf.registerBeanDefinition("fbean" + i, definitions[i]);
+        }
+        bf.preInstantiateSingletons();
+        Object before = bf.getBean("fbean500");
+
+        bf.freeze();
+        assertTrue(bf.isFrozen());
+        for (int i = 0; i < 1000; i++) {
+            assertSame(definitions[i], bf.getBeanDefinition("fbean" + i));
+        }
+        assertSame(before, bf.getBean("fbean500"));
+
+        // 合法的定义，异常只能来自冻结检查
+        try {
+            bf.registerBeanDefinition("late", fBean());
+            throw new AssertionError("冻结后不能注册");
+        } catch (BeanDefinitionRegistException e) {
+            assertTrue(e.getMessage().contains("冻结"));
+        }
+        assertNull(bf.getBeanDefinition("late"));
+    }
+
+    private static GenericBeanDefinition fBean() {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(FBean.class);
+        return bd;
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：GraphAnalyzerTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanDependencyGraph;
+import com.dn.spring.beans.BeanGraphAnalyzer;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.DependencyAnalysis;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.DBean;
+
+/**
+ * Description: 依赖图静态分析测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class GraphAnalyzerTest {
+
+    @Test
+    public void testAnalyze() {
+        Map<String, List<String>> edges = new LinkedHashMap<>();
+        edges.put("a", Arrays.asList("b", "d"));
+        edges.put("b", Arrays.asList("c"));
+        edges.put("c", new ArrayList<>());
+        edges.put("d", new ArrayList<>());
+        edges.put("x", Arrays.asList("y"));
+        edges.put("y", Arrays.asList("x", "c"));
+        edges.put("z", Arrays.asList("z"));
+
+        DependencyAnalysis analysis = BeanGraphAnalyzer.analyze(BeanDependencyGraph.of(edges),
+                name -> "d".equals(name) ? 10L : 1L);
+
+        // 一次报出所有循环
+        assertEquals(2, analysis.getCycles().size());
+        assertTrue(analysis.getCycles().contains(Arrays.asList("z")));
+        assertEquals(new HashSet<>(Arrays.asList("x", "y")), new HashSet<>(analysis.getCycles().get(0)));
+
+        assertEquals(0, analysis.getDepth("c"));
+        assertEquals(2, analysis.getDepth("a"));
+        assertEquals(1, analysis.getDepth("x"));
+        assertEquals(Arrays.asList("a", "d"), analysis.getCriticalPath());
+        assertEquals(11L, analysis.getCriticalPathCost());
+    }
+
+    @Test
+    public void testLargeGraph() {
+        int n = 100000;
+        Random random = new Random(42);
+        Map<String, List<String>> edges = new LinkedHashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            List<String> deps = new ArrayList<>();
+            for (int j = 0; j < 3 && i > 0; j++) {
+                deps.add("bean" + random.nextInt(i));
+            }
+            edges.put("bean" + i, deps);
+        }
+        // 一条很长的链，检验迭代实现不会栈溢出
+        for (int i = 1; i < n; i++) {
+            edges.get("bean" + i).add("bean" + (i - 1));
+        }
+        BeanDependencyGraph graph = BeanDependencyGraph.of(edges);
+
+        long start = System.nanoTime();
+        DependencyAnalysis analysis = BeanGraphAnalyzer.analyze(graph, name -> 1L);
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println("分析 " + n + " 个bean耗时 " + millis + "ms");
+
+        assertFalse(analysis.hasCycles());
+        assertEquals(n - 1, analysis.getMaxDepth());
+        assertEquals(n, analysis.getCriticalPath().size());
+    }
+
+    @Test
+    public void testAnalyzeFactory() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        Map<String, BeanDefinition> batch = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(DBean.class);
+            // 每10个bean首尾相连成一个环
+            bd.setConstructorArgumentValues(
+                    Arrays.asList(new BeanReference("bean" + (i % 10 == 9 ? i - 9 : i + 1))));
+            batch.put("bean" + i, bd);
+        }
+        bf.registerBeanDefinitions(batch);
+
+        DependencyAnalysis analysis = BeanGraphAnalyzer.analyze(bf);
+        assertEquals(10, analysis.getCycles().size());
+        assertEquals(10, analysis.getCycles().get(0).size());
+    }
+}
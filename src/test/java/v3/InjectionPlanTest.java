@@ -0,0 +1,61 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：InjectionPlanTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.InjectionPlan;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.FBean;
+
+/**
+ * Description: 属性注入计划测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class InjectionPlanTest {
+
+    @Test
+    public void testPlanReusedAndInvalidated() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(FBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<PropertyValue> propertyValues = new ArrayList<>();
+        PropertyValue age = new PropertyValue("age", 18);
+        propertyValues.add(new PropertyValue("name", "fbean"));
+        propertyValues.add(age);
+        bd.setPropertyValues(propertyValues);
+        bf.registerBeanDefinition("fbean", bd);
+
+        FBean f1 = (FBean) bf.getBean("fbean");
+        InjectionPlan plan = bd.getInjectionPlan();
+        FBean f2 = (FBean) bf.getBean("fbean");
+        assertNotSame(f1, f2);
+        assertSame(plan, bd.getInjectionPlan());
+        assertEquals("fbean", f2.getName());
+        assertEquals(18, f2.getAge());
+
+        // 属性值变化后计划重建
+        age.setValue(20);
+        FBean f3 = (FBean) bf.getBean("fbean");
+        assertEquals(20, f3.getAge());
+        assertNotSame(plan, bd.getInjectionPlan());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：LazyInitTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.samples.JBean;
+import com.dn.spring.samples.KBean;
+
+/**
+ * Description: 延迟初始化测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class LazyInitTest {
+
+    @Test
+    public void testLazyProxy() throws Exception {
+        JBean.CREATED.set(0);
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(JBean.class);
+        bd.setLazyInit(true);
+        bf.registerBeanDefinition("jbean", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(KBean.class);
+        List<PropertyValue> propertyValues = new ArrayList<>();
+        propertyValues.add(new PropertyValue("jBean", new BeanReference("jbean")));
+        bd.setPropertyValues(propertyValues);
+        bf.registerBeanDefinition("kbean", bd);
+
+        bf.preInstantiateSingletons();
+        assertEquals(0, JBean.CREATED.get());
+
+        KBean kbean = (KBean) bf.getBean("kbean");
+        Object proxy = kbean.getjBean();
+        assertNotSame(JBean.class, proxy.getClass());
+        // equals、hashCode、toString不创建目标
+        assertEquals(proxy, proxy);
+        assertEquals(System.identityHashCode(proxy), proxy.hashCode());
+        assertTrue(proxy.toString().contains("jbean"));
+        assertEquals(0, JBean.CREATED.get());
+
+        assertEquals("jbean", kbean.getjBean().get());
+        assertEquals("jbean", kbean.getjBean().get());
+        assertEquals(1, JBean.CREATED.get());
+        assertSame(JBean.class, bf.getBean("jbean").getClass());
+        assertEquals(1, JBean.CREATED.get());
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：MetricsTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanGraphAnalyzer;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.DependencyAnalysis;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+import com.dn.spring.beans.metrics.HistogramBeanFactoryMetrics;
+import com.dn.spring.beans.metrics.MetricsSnapshot;
+import com.dn.spring.samples.FBean;
+
+/**
+ * Description: 创建指标与启动时间线测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class MetricsTest {
+
+    public static class SlowInit {
+
+        public void init() throws InterruptedException {
+            Thread.sleep(20);
+        }
+    }
+
+    public static class SlowHolder {
+
+        private SlowInit slow;
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        HistogramBeanFactoryMetrics metrics = new HistogramBeanFactoryMetrics();
+        bf.setMetrics(metrics);
+
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(SlowInit.class);
+        bd.setInitMethodName("init");
+        bf.registerBeanDefinition("slow", bd);
+
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(FBean.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("age", 1));
+        bd.setPropertyValues(pvs);
+        bf.registerBeanDefinition("fbean", bd);
+
+        bf.preInstantiateSingletons();
+        for (int i = 0; i < 100; i++) {
+            bf.getBean("fbean");
+        }
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        System.out.println(snapshot.getBean("slow"));
+        assertEquals(1, snapshot.getBean("slow").getCreationCount());
+        assertTrue(snapshot.getBean("slow").getInit().getMax() >= 20_000_000L);
+        assertEquals(100, snapshot.getBean("fbean").getCreationCount());
+        assertEquals(100, snapshot.getBean("fbean").getInjection().getCount());
+
+        assertEquals(1, snapshot.getStartupTimeline().size());
+        assertEquals("slow", snapshot.getStartupTimeline().get(0).getBeanName());
+        assertTrue(snapshot.getStartupTimeline().get(0).getDurationNanos() >= 20_000_000L);
+    }
+
+    @Test
+    public void testExclusiveTimes() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        HistogramBeanFactoryMetrics metrics = new HistogramBeanFactoryMetrics();
+        bf.setMetrics(metrics);
+
+        // holder先注册，注入时创建slow
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(SlowHolder.class);
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("slow", new BeanReference("slow")));
+        bd.setPropertyValues(pvs);
+        bf.registerBeanDefinition("holder", bd);
+        bd = new GenericBeanDefinition();
+        bd.setBeanClass(SlowInit.class);
+        bd.setInitMethodName("init");
+        bf.registerBeanDefinition("slow", bd);
+        bf.preInstantiateSingletons();
+
+        // 注入耗时不含slow的创建，关键路径不重复计算slow
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertTrue(snapshot.getBean("holder").getInjection().getMax() < 20_000_000L);
+        DependencyAnalysis analysis = BeanGraphAnalyzer.analyze(bf);
+        assertEquals(Arrays.asList("holder", "slow"), analysis.getCriticalPath());
+        assertTrue(analysis.getCriticalPathCost() < 40_000_000L);
+    }
+}
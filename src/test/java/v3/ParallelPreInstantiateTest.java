@@ -0,0 +1,94 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ParallelPreInstantiateTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.PropertyValue;
+
+/**
+ * Description: 按依赖图并行预实例化测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ParallelPreInstantiateTest {
+
+    public static class SlowNode {
+
+        private SlowNode dep;
+
+        private volatile boolean inited;
+
+        public void init() throws InterruptedException {
+            if (dep != null && !dep.inited) {
+                throw new IllegalStateException("依赖的bean尚未初始化");
+            }
+            Thread.sleep(100);
+            inited = true;
+        }
+    }
+
+    @Test
+    public void testParallelPreInstantiate() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        bf.setParallelPreInstantiation(true);
+        bf.setPreInstantiateExecutor(executor);
+
+        // 16条链，每条深度为2：node{i}b 依赖 node{i}a
+        int width = 16;
+        for (int i = 0; i < width; i++) {
+            GenericBeanDefinition bd = new GenericBeanDefinition();
+            bd.setBeanClass(SlowNode.class);
+            bd.setInitMethodName("init");
+            bf.registerBeanDefinition("node" + i + "b", withDep(bd, "node" + i + "a"));
+
+            bd = new GenericBeanDefinition();
+            bd.setBeanClass(SlowNode.class);
+            bd.setInitMethodName("init");
+            bf.registerBeanDefinition("node" + i + "a", bd);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            bf.preInstantiateSingletons();
+        } finally {
+            executor.shutdown();
+        }
+        long cost = System.currentTimeMillis() - start;
+
+        // 顺序创建需要 32 * 100ms
+        assertTrue("cost " + cost, cost < 1600);
+        for (int i = 0; i < width; i++) {
+            SlowNode b = (SlowNode) bf.getBean("node" + i + "b");
+            assertTrue(b.inited);
+            assertNotNull(b.dep);
+            assertEquals(bf.getBean("node" + i + "a"), b.dep);
+        }
+    }
+
+    private static GenericBeanDefinition withDep(GenericBeanDefinition bd, String dep) {
+        List<PropertyValue> pvs = new ArrayList<>();
+        pvs.add(new PropertyValue("dep", new BeanReference(dep)));
+        bd.setPropertyValues(pvs);
+        return bd;
+    }
+}
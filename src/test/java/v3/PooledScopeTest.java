@@ -0,0 +1,180 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：PooledScopeTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.IBean;
+
+/**
+ * Description: 池化bean测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class PooledScopeTest {
+
+    private static GenericBeanDefinition pooled(int min, int max, long maxIdleMillis) {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(IBean.class);
+        bd.setScope(BeanDefinition.SCOPE_POOLED);
+        bd.setResetMethodName("reset");
+        bd.setDestroyMethodName("destroy");
+        bd.setPoolMinSize(min);
+        bd.setPoolMaxSize(max);
+        bd.setPoolMaxIdleMillis(maxIdleMillis);
+        return bd;
+    }
+
+    @Test
+    public void testBorrowAndRelease() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("ibean", pooled(0, 8, 0));
+
+        IBean first = (IBean) bf.borrowBean("ibean");
+        IBean second = (IBean) bf.borrowBean("ibean");
+        assertNotSame(first, second);
+
+        first.getBuffer().append("dirty");
+        bf.releaseBean("ibean", first);
+        assertEquals(1, first.getResetCount());
+        assertEquals(0, first.getBuffer().length());
+
+        // 同一线程归还后再借，拿到的是同一个实例
+        assertSame(first, bf.borrowBean("ibean"));
+    }
+
+    @Test
+    public void testMaxSizeAndClose() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("ibean", pooled(0, 2, 0));
+
+        List<IBean> borrowed = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            borrowed.add((IBean) bf.borrowBean("ibean"));
+        }
+        for (IBean b : borrowed) {
+            bf.releaseBean("ibean", b);
+        }
+        // 弹匣和共享池合计最多2个，其余销毁
+        int destroyed = 0;
+        for (IBean b : borrowed) {
+            destroyed += b.isDestroyed() ? 1 : 0;
+        }
+        assertEquals(8, destroyed);
+
+        bf.close();
+        for (IBean b : borrowed) {
+            assertTrue(b.isDestroyed());
+        }
+    }
+
+    @Test
+    public void testPrefillAndEviction() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("ibean", pooled(1, 8, 20));
+        bf.preInstantiateSingletons();
+
+        List<IBean> borrowed = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            borrowed.add((IBean) bf.borrowBean("ibean"));
+        }
+        for (IBean b : borrowed) {
+            bf.releaseBean("ibean", b);
+        }
+        Thread.sleep(50);
+        bf.evictIdleBeans();
+
+        // 共享池和弹匣中的空闲实例淘汰到最小数，保留最近归还的
+        int destroyed = 0;
+        for (IBean b : borrowed) {
+            destroyed += b.isDestroyed() ? 1 : 0;
+        }
+        assertEquals(7, destroyed);
+        assertFalse(borrowed.get(3).isDestroyed());
+    }
+
+    @Test
+    public void testDoubleRelease() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("ibean", pooled(0, 8, 0));
+        IBean bean = (IBean) bf.borrowBean("ibean");
+        bf.releaseBean("ibean", bean);
+        try {
+            bf.releaseBean("ibean", bean);
+            fail();
+        } catch (IllegalStateException e) {
+            // 重复归还被拒绝，实例不会借给两个调用方
+        }
+        assertSame(bean, bf.borrowBean("ibean"));
+        assertNotSame(bean, bf.borrowBean("ibean"));
+    }
+
+    @Test
+    public void testManyLoans() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("ibean", pooled(0, 1, 0));
+        // 借出数超过借出表的容量时登记到溢出表，归还仍能核对
+        List<Object> borrowed = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            borrowed.add(bf.borrowBean("ibean"));
+        }
+        for (Object bean : borrowed) {
+            bf.releaseBean("ibean", bean);
+        }
+        try {
+            bf.releaseBean("ibean", borrowed.get(150));
+            fail();
+        } catch (IllegalStateException e) {
+            // 已经归还
+        }
+    }
+
+    @Test
+    public void testDeadThreadMagazine() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("ibean", pooled(0, 8, 0));
+        IBean[] holder = new IBean[1];
+        Thread t = new Thread(() -> {
+            try {
+                holder[0] = (IBean) bf.borrowBean("ibean");
+                bf.releaseBean("ibean", holder[0]);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        t.start();
+        t.join();
+
+        // 已结束线程弹匣中的实例移回共享池，其他线程可以借到
+        bf.evictIdleBeans();
+        assertSame(holder[0], bf.borrowBean("ibean"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReleaseNonPooled() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(IBean.class);
+        bf.registerBeanDefinition("ibean", bd);
+        bf.releaseBean("ibean", bf.getBean("ibean"));
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：ScopeTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.ContextScope;
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.ScopeContext;
+import com.dn.spring.beans.ThreadScope;
+import com.dn.spring.samples.IBean;
+
+/**
+ * Description: 线程作用域和上下文作用域测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class ScopeTest {
+
+    private static PreBuildBeanFactory factory(String scope) throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(IBean.class);
+        bd.setScope(scope);
+        bd.setDestroyMethodName("destroy");
+        bf.registerBeanDefinition("ibean", bd);
+        return bf;
+    }
+
+    @Test
+    public void testThreadScope() throws Exception {
+        PreBuildBeanFactory bf = factory(BeanDefinition.SCOPE_THREAD);
+        IBean mine = (IBean) bf.getBean("ibean");
+        assertSame(mine, bf.getBean("ibean"));
+
+        AtomicReference<Object> other = new AtomicReference<>();
+        Thread t = new Thread(() -> {
+            try {
+                other.set(bf.getBean("ibean"));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        t.start();
+        t.join();
+        assertNotSame(mine, other.get());
+
+        bf.close();
+        assertTrue(mine.isDestroyed());
+        assertTrue(((IBean) other.get()).isDestroyed());
+    }
+
+    @Test
+    public void testThreadScopeAfterDestroy() throws Exception {
+        PreBuildBeanFactory bf = factory(BeanDefinition.SCOPE_THREAD);
+        ThreadScope scope = (ThreadScope) bf.getRegisteredScope(BeanDefinition.SCOPE_THREAD);
+        IBean first = (IBean) bf.getBean("ibean");
+        scope.destroy();
+        assertTrue(first.isDestroyed());
+
+        // 销毁后仍在运行的线程重新创建，新实例再次登记销毁
+        IBean second = (IBean) bf.getBean("ibean");
+        assertNotSame(first, second);
+        scope.destroy();
+        assertTrue(second.isDestroyed());
+    }
+
+    @Test
+    public void testContextScope() throws Exception {
+        PreBuildBeanFactory bf = factory(BeanDefinition.SCOPE_CONTEXT);
+        ContextScope scope = (ContextScope) bf.getRegisteredScope(BeanDefinition.SCOPE_CONTEXT);
+
+        IBean first;
+        try (ScopeContext ctx = scope.open()) {
+            first = (IBean) bf.getBean("ibean");
+            assertSame(first, bf.getBean("ibean"));
+
+            // 子任务共享同一个上下文
+            AtomicReference<Object> child = new AtomicReference<>();
+            Thread t = new Thread(ctx.wrap(() -> {
+                try {
+                    child.set(bf.getBean("ibean"));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+            t.start();
+            t.join();
+            assertSame(first, child.get());
+            assertFalse(first.isDestroyed());
+        }
+        assertTrue(first.isDestroyed());
+        assertTrue(scope.currentContext() == null);
+
+        try (ScopeContext ctx = scope.open()) {
+            assertSame(ctx, scope.currentContext());
+            assertNotSame(first, bf.getBean("ibean"));
+        }
+    }
+
+    @Test
+    public void testContextScopeCreatesOutsideLock() throws Exception {
+        PreBuildBeanFactory bf = factory(BeanDefinition.SCOPE_CONTEXT);
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(Blocker.class);
+        bd.setScope(BeanDefinition.SCOPE_CONTEXT);
+        bf.registerBeanDefinition("blocker", bd);
+        ContextScope scope = (ContextScope) bf.getRegisteredScope(BeanDefinition.SCOPE_CONTEXT);
+
+        try (ScopeContext ctx = scope.open()) {
+            Thread t = new Thread(ctx.wrap(() -> {
+                try {
+                    bf.getBean("blocker");
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+            t.start();
+            try {
+                assertTrue(Blocker.ENTERED.await(5, TimeUnit.SECONDS));
+                // blocker还在创建中，同一上下文的其他bean不用等它
+                FutureTask<Object> other = new FutureTask<>(ctx.wrap(() -> bf.getBean("ibean")));
+                new Thread(other).start();
+                assertFalse(((IBean) other.get(2, TimeUnit.SECONDS)).isDestroyed());
+            } finally {
+                Blocker.RELEASE.countDown();
+                t.join();
+            }
+            assertSame(bf.getBean("blocker"), bf.getBean("blocker"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testContextScopeWithoutContext() throws Exception {
+        factory(BeanDefinition.SCOPE_CONTEXT).getBean("ibean");
+    }
+
+    static class Blocker {
+
+        static final CountDownLatch ENTERED = new CountDownLatch(1);
+
+        static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+        Blocker() throws InterruptedException {
+            ENTERED.countDown();
+            RELEASE.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
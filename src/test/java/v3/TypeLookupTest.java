@@ -0,0 +1,121 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：TypeLookupTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.GenericBeanDefinition;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.samples.ABean;
+import com.dn.spring.samples.ABeanFactory;
+import com.dn.spring.samples.CBean;
+import com.dn.spring.samples.CCBean;
+import com.dn.spring.samples.JBean;
+
+/**
+ * Description: 按类型获取bean测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class TypeLookupTest {
+
+    @Test
+    public void testGetBeanByType() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        bf.registerBeanDefinition("cbean", cBean(CBean.class));
+        bf.registerBeanDefinition("ccbean", cBean(CCBean.class));
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(JBean.class);
+        bf.registerBeanDefinition("jbean", bd);
+
+        assertArrayEquals(new String[] { "cbean", "ccbean" }, bf.getBeanNamesForType(CBean.class));
+        assertSame(bf.getBean("ccbean"), bf.getBean(CCBean.class));
+        assertSame(bf.getBean("jbean"), bf.getBean(Supplier.class));
+        assertEquals(3, bf.getBeanNamesForType(Object.class).length);
+
+        Map<String, CBean> beans = bf.getBeansOfType(CBean.class);
+        assertEquals(Arrays.asList("cbean", "ccbean"), new ArrayList<>(beans.keySet()));
+
+        try {
+            bf.getBean(CBean.class);
+            throw new AssertionError("CBean有两个定义");
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+        }
+        try {
+            bf.getBean(Runnable.class);
+            throw new AssertionError("没有Runnable的定义");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidateOnRegistration() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        // 工厂bean晚于使用它的定义注册，注册时推断不出类型
+        GenericBeanDefinition abean = new GenericBeanDefinition();
+        abean.setFactoryBeanName("abeanFactory");
+        abean.setFactoryMethodName("getABean2");
+        bf.registerBeanDefinition("abean", abean);
+        assertEquals(0, bf.getBeanNamesForType(ABean.class).length);
+
+        GenericBeanDefinition factory = new GenericBeanDefinition();
+        factory.setBeanClass(ABeanFactory.class);
+        bf.registerBeanDefinition("abeanFactory", factory);
+        assertArrayEquals(new String[] { "abean" }, bf.getBeanNamesForType(ABean.class));
+
+        bf.registerBeanDefinition("cbean", cBean(CBean.class));
+        String[] names = bf.getBeanNamesForType(CBean.class);
+        assertSame(names, bf.getBeanNamesForType(CBean.class));
+        bf.registerBeanDefinition("ccbean", cBean(CCBean.class));
+        assertEquals(2, bf.getBeanNamesForType(CBean.class).length);
+    }
+
+    @Test
+    public void testRegistrationOrder() throws Exception {
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        // abean注册时推断不出类型，延后推断出类型后仍排在abean2之前
+        GenericBeanDefinition abean = new GenericBeanDefinition();
+        abean.setFactoryBeanName("abeanFactory");
+        abean.setFactoryMethodName("getABean2");
+        bf.registerBeanDefinition("abean", abean);
+        GenericBeanDefinition abean2 = new GenericBeanDefinition();
+        abean2.setBeanClass(ABean.class);
+        bf.registerBeanDefinition("abean2", abean2);
+        assertArrayEquals(new String[] { "abean2" }, bf.getBeanNamesForType(ABean.class));
+
+        GenericBeanDefinition factory = new GenericBeanDefinition();
+        factory.setBeanClass(ABeanFactory.class);
+        bf.registerBeanDefinition("abeanFactory", factory);
+        GenericBeanDefinition abean3 = new GenericBeanDefinition();
+        abean3.setBeanClass(ABean.class);
+        bf.registerBeanDefinition("abean3", abean3);
+        assertArrayEquals(new String[] { "abean", "abean2", "abean3" }, bf.getBeanNamesForType(ABean.class));
+    }
+
+    private static GenericBeanDefinition cBean(Class<?> beanClass) {
+        GenericBeanDefinition bd = new GenericBeanDefinition();
+        bd.setBeanClass(beanClass);
+        List<Object> args = new ArrayList<>();
+        args.add("name");
+        bd.setConstructorArgumentValues(args);
+        return bd;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * 版权所有: wulihua
+ * 创建日期: 2026/10/18
+ * 创建作者：wuqia
+ * 文件名称：XmlBeanDefinitionReaderTest.java
+ * 版本: 1.0
+ * 修改记录:
+ */
+package v3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.dn.spring.beans.BeanDefinition;
+import com.dn.spring.beans.BeanDefinitionRegistException;
+import com.dn.spring.beans.BeanDefinitionRegistry;
+import com.dn.spring.beans.BeanReference;
+import com.dn.spring.beans.PreBuildBeanFactory;
+import com.dn.spring.beans.xml.BeanDefinitionParseException;
+import com.dn.spring.beans.xml.XmlBeanDefinitionReader;
+import com.dn.spring.samples.CBean;
+import com.dn.spring.samples.FBean;
+
+/**
+ * Description: XML bean定义读取测试.
+ * @author wuqia
+ * @since 2026/10/18
+ */
+public class XmlBeanDefinitionReaderTest {
+
+    @Test
+    public void testLoad() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<beans>\n"
+                + "  <!-- 构造参数 -->\n"
+                + "  <bean id=\"cbean\" class=\"com.dn.spring.samples.CBean\">\n"
+                + "    <constructor-arg value=\"cb\"/>\n"
+                + "  </bean>\n"
+                + "  <bean id=\"abean\" class=\"com.dn.spring.samples.ABeanFactory\" factory-method=\"getABean\""
+                + " scope=\"prototype\">\n"
+                + "    <constructor-arg><value>ab</value></constructor-arg>\n"
+                + "    <constructor-arg ref=\"cbean\"/>\n"
+                + "  </bean>\n"
+                + "  <bean id=\"fbean\" class=\"com.dn.spring.samples.FBean\" lazy-init=\"true\">\n"
+                + "    <property name=\"name\" value=\"fb\"/>\n"
+                + "    <property name=\"age\" value=\"18\" type=\"int\"/>\n"
+                + "    <property name=\"aBean\" ref=\"abean\"/>\n"
+                + "  </bean>\n"
+                + "  <bean id=\"holder\" class=\"v3.CollectionDiTest$Holder\">\n"
+                + "    <constructor-arg><list><ref bean=\"cbean\"/><value type=\"long\">3</value><null/></list>"
+                + "</constructor-arg>\n"
+                + "    <property name=\"map\"><map><entry key=\"c\" ref=\"cbean\"/><entry key=\"s\">"
+                + "<set><value>x</value></set></entry></map></property>\n"
+                + "  </bean>\n"
+                + "</beans>\n";
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        int count = new XmlBeanDefinitionReader(bf).loadBeanDefinitions(stream(xml), "test.xml");
+        assertEquals(4, count);
+        assertTrue(bf.getBeanDefinition("fbean").isLazyInit());
+        assertEquals(BeanDefinition.SCOPE_PROTOTYPE, bf.getBeanDefinition("abean").getScope());
+
+        List<?> args = (List<?>) bf.getBeanDefinition("holder").getConstructorArgumentValues().get(0);
+        assertEquals(Arrays.asList(BeanReference.class, Long.class), Arrays.asList(args.get(0).getClass(),
+                args.get(1).getClass()));
+        Map<?, ?> map = (Map<?, ?>) bf.getBeanDefinition("holder").getPropertyValues().get(0).getValue();
+        assertEquals(2, map.size());
+
+        FBean fbean = (FBean) bf.getBean("fbean");
+        assertEquals("fb", fbean.getName());
+        assertEquals(18, fbean.getAge());
+        assertNotNull(fbean.getaBean());
+        assertSame(bf.getBean(CBean.class), bf.getBean("cbean"));
+    }
+
+    @Test
+    public void testLoadLargeConfig() throws Exception {
+        int n = 20000;
+        StringBuilder sb = new StringBuilder(n * 120).append("<beans>\n");
+        for (int i = 0; i < n; i++) {
+            sb.append("  <bean id=\"f").append(i).append("\" class=\"com.dn.spring.samples.FBean\">")
+                    .append("<property name=\"name\" value=\"f").append(i).append("\"/>")
+                    .append("<property name=\"age\" value=\"").append(i).append("\" type=\"int\"/></bean>\n");
+        }
+        sb.append("</beans>\n");
+
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        long start = System.nanoTime();
+        int count = new XmlBeanDefinitionReader(bf).loadBeanDefinitions(stream(sb.toString()), "large.xml");
+        System.out.println("读取 " + sb.length() / 1024 + "KB 配置耗时 " + (System.nanoTime() - start) / 1000000 + "ms");
+        assertEquals(n, count);
+        assertEquals(n - 1, ((FBean) bf.getBean("f" + (n - 1))).getAge());
+    }
+
+    @Test
+    public void testErrorLineNumber() throws Exception {
+        String xml = "<beans>\n"
+                + "  <bean id=\"cbean\" class=\"com.dn.spring.samples.CBean\"><constructor-arg value=\"cb\"/></bean>\n"
+                + "  <bean id=\"missing\" class=\"com.dn.spring.samples.NoSuchBean\"/>\n"
+                + "</beans>\n";
+        assertErrorLine(xml, 3);
+
+        String duplicate = "<beans>\n"
+                + "  <bean id=\"c\" class=\"com.dn.spring.samples.FBean\"/>\n"
+                + "\n"
+                + "  <bean id=\"c\" class=\"com.dn.spring.samples.FBean\"/>\n"
+                + "</beans>\n";
+        assertErrorLine(duplicate, 4);
+
+        String malformed = "<beans>\n"
+                + "  <bean id=\"f\" class=\"com.dn.spring.samples.FBean\">\n"
+                + "    <property name=\"age\" value=\"x\" type=\"int\"/>\n"
+                + "  </bean>\n"
+                + "</bean>\n";
+        assertErrorLine(malformed, 3);
+    }
+
+    @Test
+    public void testDefinitionsBeforeErrorKept() throws Exception {
+        String xml = "<beans>\n"
+                + "  <bean id=\"f1\" class=\"com.dn.spring.samples.FBean\"/>\n"
+                + "  <bean id=\"f2\" class=\"com.dn.spring.samples.FBean\"/>\n"
+                + "  <bean id=\"missing\" class=\"com.dn.spring.samples.NoSuchBean\"/>\n"
+                + "</beans>\n";
+        PreBuildBeanFactory bf = new PreBuildBeanFactory();
+        try {
+            new XmlBeanDefinitionReader(bf).loadBeanDefinitions(stream(xml), "bad.xml");
+            throw new AssertionError("应当解析失败");
+        } catch (BeanDefinitionParseException e) {
+            assertEquals(4, e.getLineNumber());
+        }
+        // 攒批未发布的定义在报错前注册
+        assertEquals(Arrays.asList("f1", "f2"), bf.getBeanDefinitionNames());
+    }
+
+    @Test
+    public void testGenericRegistry() throws Exception {
+        // 只实现基本方法的注册中心，批量注册逐个注册；批注册失败后不再重复注册同一批
+        Map<String, BeanDefinition> registered = new LinkedHashMap<>();
+        BeanDefinitionRegistry registry = new BeanDefinitionRegistry() {
+            @Override
+            public void registerBeanDefinition(String beanName, BeanDefinition bd)
+                    throws BeanDefinitionRegistException {
+                if ("f100".equals(beanName) || registered.containsKey(beanName)) {
+                    throw new BeanDefinitionRegistException("拒绝注册" + beanName);
+                }
+                registered.put(beanName, bd);
+            }
+
+            @Override
+            public BeanDefinition getBeanDefinition(String beanName) {
+                return registered.get(beanName);
+            }
+
+            @Override
+            public boolean containsBeanDefinition(String beanName) {
+                return registered.containsKey(beanName);
+            }
+        };
+        StringBuilder sb = new StringBuilder("<beans>\n");
+        for (int i = 0; i < 300; i++) {
+            sb.append("<bean id=\"f").append(i).append("\" class=\"com.dn.spring.samples.FBean\"/>\n");
+        }
+        sb.append("</beans>\n");
+        try {
+            new XmlBeanDefinitionReader(registry).loadBeanDefinitions(stream(sb.toString()), "generic.xml");
+            throw new AssertionError("应当注册失败");
+        } catch (BeanDefinitionParseException e) {
+            assertTrue(e.getMessage().contains("f100"));
+            assertEquals(0, e.getSuppressed().length);
+        }
+        assertEquals(100, registered.size());
+    }
+
+    private static void assertErrorLine(String xml, int line) throws Exception {
+        try {
+            new XmlBeanDefinitionReader(new PreBuildBeanFactory()).loadBeanDefinitions(stream(xml), "bad.xml");
+            throw new AssertionError("应当解析失败");
+        } catch (BeanDefinitionParseException e) {
+            System.out.println(e.getMessage());
+            assertEquals(line, e.getLineNumber());
+        }
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}